@@ -0,0 +1,45 @@
+package spotify.database;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import spotify.database.song.Song;
+import spotify.database.song.exceptions.SongNotFoundException;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The Song Queries of the {@code InMemoryDatabase}: the Lookup of a Song by its full Name (used by {@code play}),
+ * the Search by a Filter and the Chart of the most streamed Songs
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SongQueriesBenchmark {
+    @Benchmark
+    public Song getSongBy(SyntheticCatalog catalog, SyntheticCatalog.Cursor cursor) throws SongNotFoundException {
+        return catalog.database.getSongBy(catalog.songNames[cursor.next()]);
+    }
+
+    @Benchmark
+    public Collection<Song> filterSongsBasedOn(SyntheticCatalog catalog, SyntheticCatalog.Cursor cursor) {
+        return catalog.database.filterSongsBasedOn(catalog.filters[cursor.next()]);
+    }
+
+    @Benchmark
+    public Collection<Song> getMostStreamedSongsTop10(SyntheticCatalog catalog) {
+        return catalog.database.getMostStreamedSongs(10);
+    }
+
+    @Benchmark
+    public Collection<Song> getMostStreamedSongsTop100(SyntheticCatalog catalog) {
+        return catalog.database.getMostStreamedSongs(100);
+    }
+}
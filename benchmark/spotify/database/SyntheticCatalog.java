@@ -0,0 +1,161 @@
+package spotify.database;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import spotify.database.playlist.Playlist;
+import spotify.database.playlist.PlaylistBase;
+import spotify.database.song.Song;
+import spotify.database.user.User;
+
+import javax.sound.sampled.AudioFormat;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * An {@code InMemoryDatabase} filled with a synthetic Catalog of {@code catalogSize} Songs, Users and Playlists
+ * <p>
+ * Everything is generated in-process from a fixed Seed, so every Run measures the same Catalog.
+ * The Users and the Playlists are written to the Database Files before the Database is constructed,
+ * like a Database that is loaded after a Restart, and the Songs are added through {@code addSong}.
+ * Every User owns one Playlist. Song Names are made of Words from a small Vocabulary,
+ * so a Word Filter matches many Songs like a real Search does.
+ * </p>
+ * <p>
+ * The Lookups of the Benchmarks are picked in advance ({@code LOOKUPS} of each) and cycled through by a
+ * {@code Cursor} per Thread, so a Benchmark does not measure the Random Generator.
+ * The Database is shared by all Threads, run the Benchmarks with {@code -t} to measure them under Contention
+ * </p>
+ */
+@State(Scope.Benchmark)
+public class SyntheticCatalog {
+    public static final int LOOKUPS = 1024;
+
+    private static final long SEED = 42;
+    private static final int VOCABULARY_SIZE = 2_000;
+    private static final int SONGS_PER_SINGER = 10;
+    private static final int MAX_STREAMS = 1_000_000;
+    private static final String[] SYLLABLES = {
+        "ka", "lo", "mi", "ra", "to", "ne", "su", "vi", "da", "po", "ze", "ha", "ju", "be", "fo", "ri"
+    };
+    private static final AudioFormat AUDIO_FORMAT = new AudioFormat(44100, 16, 2, true, false);
+
+    @Param({"1000", "100000", "1000000"})
+    public int catalogSize;
+
+    public InMemoryDatabase database;
+
+    public String[] songNames;
+    public String[] filters;
+    public String[] playlistNames;
+    public Playlist[] playlists;
+
+    private Path folder;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Random random = new Random(SEED);
+        String[] vocabulary = newVocabulary(random);
+
+        folder = Files.createTempDirectory("spotifyBenchmark");
+        Path songsFolder = Files.createDirectories(folder.resolve("songs"));
+        Path databaseFolder = Files.createDirectories(folder.resolve("database"));
+
+        writeUsersAndPlaylists(databaseFolder);
+        database = new InMemoryDatabase(songsFolder + "/", databaseFolder + "/", "users.txt", "playlists.txt");
+
+        int singers = Math.min(VOCABULARY_SIZE, Math.max(1, catalogSize / SONGS_PER_SINGER));
+        Song[] songs = new Song[catalogSize];
+        for (int i = 0; i < catalogSize; ++i) {
+            String songName = pick(vocabulary, random) + " " + pick(vocabulary, random) + " " + i;
+            String singerName = vocabulary[random.nextInt(singers)];
+
+            songs[i] = new Song(songName, singerName, singerName + " - " + songName + Song.WAV, AUDIO_FORMAT);
+            songs[i].setStreams(random.nextInt(MAX_STREAMS));
+            database.addSong(songs[i]);
+        }
+
+        songNames = new String[LOOKUPS];
+        filters = new String[LOOKUPS];
+        playlistNames = new String[LOOKUPS];
+        playlists = new Playlist[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; ++i) {
+            songNames[i] = songs[random.nextInt(catalogSize)].toString();
+            filters[i] = pick(vocabulary, random);
+
+            int owner = random.nextInt(catalogSize);
+            playlistNames[i] = playlistNameOf(owner);
+            playlists[i] = new PlaylistBase(playlistNameOf(owner), userOf(owner));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        database.close();
+
+        try (Stream<Path> files = Files.walk(folder)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    private void writeUsersAndPlaylists(Path databaseFolder) throws IOException {
+        try (BufferedWriter users = Files.newBufferedWriter(databaseFolder.resolve("users.txt"));
+             BufferedWriter playlists = Files.newBufferedWriter(databaseFolder.resolve("playlists.txt"))) {
+            for (int i = 0; i < catalogSize; ++i) {
+                User user = userOf(i);
+
+                users.write(user + System.lineSeparator());
+                playlists.write(new PlaylistBase(playlistNameOf(i), user) + System.lineSeparator());
+            }
+        }
+    }
+
+    private static User userOf(int index) {
+        return new User("user" + index + "@mail.com", "password" + index);
+    }
+
+    private static String playlistNameOf(int index) {
+        return "Mix " + index;
+    }
+
+    private static String[] newVocabulary(Random random) {
+        String[] vocabulary = new String[VOCABULARY_SIZE];
+
+        for (int i = 0; i < VOCABULARY_SIZE; ++i) {
+            StringBuilder word = new StringBuilder();
+            for (int syllable = 0; syllable < 3; ++syllable) {
+                word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            vocabulary[i] = word.toString();
+        }
+
+        return vocabulary;
+    }
+
+    private static String pick(String[] words, Random random) {
+        return words[random.nextInt(words.length)];
+    }
+
+    /**
+     * The Position of a Thread in the Lookups of the {@code SyntheticCatalog}
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int position;
+
+        public int next() {
+            position = (position + 1) & (LOOKUPS - 1);
+            return position;
+        }
+    }
+}
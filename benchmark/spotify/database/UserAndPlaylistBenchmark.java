@@ -0,0 +1,61 @@
+package spotify.database;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import spotify.database.playlist.Playlist;
+import spotify.database.playlist.exceptions.NoSuchPlaylistException;
+import spotify.database.user.exceptions.InvalidEmailException;
+import spotify.database.user.exceptions.UserAlreadyExistsException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The User and Playlist Operations of the {@code InMemoryDatabase}
+ * <p>
+ * {@code registerUser} registers a new User every Time, so it also measures the Journal Append
+ * and the Snapshots written when the Journal is compacted
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class UserAndPlaylistBenchmark {
+    @Benchmark
+    public Playlist getPlaylistByName(SyntheticCatalog catalog, SyntheticCatalog.Cursor cursor)
+        throws NoSuchPlaylistException {
+        return catalog.database.getPlaylistByName(catalog.playlistNames[cursor.next()]);
+    }
+
+    @Benchmark
+    public boolean doesPlaylistExist(SyntheticCatalog catalog, SyntheticCatalog.Cursor cursor) {
+        return catalog.database.doesPlaylistExist(catalog.playlists[cursor.next()]);
+    }
+
+    @Benchmark
+    public void registerUser(SyntheticCatalog catalog, NewUsers newUsers)
+        throws UserAlreadyExistsException, InvalidEmailException {
+        catalog.database.registerUser(newUsers.nextEmail(), "password");
+    }
+
+    /**
+     * Hands out Emails that have not been registered yet
+     */
+    @State(Scope.Benchmark)
+    public static class NewUsers {
+        private final AtomicLong counter = new AtomicLong();
+
+        public String nextEmail() {
+            return "new" + counter.incrementAndGet() + "@mail.com";
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package spotify.client;
 
 import spotify.database.song.listener.SongListener;
+import spotify.server.connection.MessageFrame;
 
 import javax.naming.OperationNotSupportedException;
 import javax.sound.sampled.AudioFormat;
@@ -14,7 +15,6 @@ import java.io.PrintWriter;
 import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
 import java.nio.channels.SocketChannel;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Scanner;
@@ -30,6 +30,7 @@ public class SpotifyClient implements Runnable {
     private static final int FRAME_RATE_INDEX = 6;
     private static final int BIG_ENDIAN_INDEX = 7;
     private static final int PORT_INDEX = 8;
+    private static final int TOKEN_INDEX = 9;
 
     private static final int SERVER_PORT = 6999;
     private static final String SERVER_HOST = "localhost";
@@ -120,6 +121,7 @@ public class SpotifyClient implements Runnable {
             Float.parseFloat(splitReply[FRAME_RATE_INDEX]), Boolean.parseBoolean(splitReply[BIG_ENDIAN_INDEX]));
 
         int streamingPort = Integer.parseInt(splitReply[PORT_INDEX]);
+        String streamToken = splitReply[TOKEN_INDEX];
 
         Line.Info info = new DataLine.Info(SourceDataLine.class, audioFormat);
 
@@ -127,7 +129,7 @@ public class SpotifyClient implements Runnable {
         sourceDataLine.open();
 
         System.out.println("Playing Song:");
-        new Thread(new SongListener(streamingPort, sourceDataLine, this), "Song Listener").start();
+        new Thread(new SongListener(streamingPort, streamToken, sourceDataLine, this), "Song Listener").start();
     }
 
     private void stopSong() throws OperationNotSupportedException {
@@ -143,22 +145,11 @@ public class SpotifyClient implements Runnable {
     }
 
     private void writeToServer(String message, SocketChannel socketChannel) throws IOException {
-        buffer.clear();
-        buffer.put(message.getBytes());
-
-        buffer.flip();
-        socketChannel.write(buffer);
+        MessageFrame.write(message, socketChannel);
     }
 
     private String readServerResponse(SocketChannel socketChannel) throws IOException {
-        buffer.clear();
-        socketChannel.read(buffer);
-
-        buffer.flip();
-        byte[] byteArray = new byte[buffer.remaining()];
-        buffer.get(byteArray);
-
-        return new String(byteArray, StandardCharsets.UTF_8);
+        return MessageFrame.read(socketChannel, buffer);
     }
 
     public SourceDataLine getSourceDataLine() {
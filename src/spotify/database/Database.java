@@ -27,6 +27,11 @@ import java.util.Collection;
  * If any of the File Paths are Invalid or include invalid Data, the Files/Data will be ignored
  * </p>
  * <p>
+ * Every Registration, created Playlist and Song added to a Playlist is appended to a Journal in the
+ * Database Folder before the Method returns, so no Data is lost if the Server crashes.
+ * The Journal is replayed on the next Start
+ * </p>
+ * <p>
  * The close() Method saves all current InMemory Data to the Files specified in the Constructor,
  * creating any non existent
  * </p>
@@ -87,6 +92,14 @@ public interface Database extends AutoCloseable, Closeable {
     Playlist createPlaylist(String playlistName, User owner)
         throws UserNotRegisteredException, PlaylistAlreadyExistsException;
 
+    /**
+     * Adds a Song to a Playlist
+     *
+     * @param playlist the Playlist
+     * @param song     the Song to be added
+     */
+    void addSongToPlaylist(Playlist playlist, Song song);
+
     /**
      * Searches for a Playlist with the specified Name whose Owner matched {@code owner}
      *
@@ -1,11 +1,23 @@
 package spotify.database;
 
+import spotify.database.journal.Journal;
+import spotify.database.journal.JournalRecord;
+import spotify.database.journal.JournalRecordType;
 import spotify.database.playlist.Playlist;
 import spotify.database.playlist.PlaylistBase;
 import spotify.database.playlist.exceptions.NoSuchPlaylistException;
 import spotify.database.playlist.exceptions.PlaylistAlreadyExistsException;
+import spotify.database.playlist.store.PlaylistStore;
 import spotify.database.song.Song;
+import spotify.database.song.catalog.SongCatalog;
+import spotify.database.song.chart.TopSongsChart;
+import spotify.database.song.counter.StreamsCounterStore;
 import spotify.database.song.exceptions.SongNotFoundException;
+import spotify.database.song.registry.SongRegistry;
+import spotify.database.song.scanner.SongFolderListener;
+import spotify.database.song.scanner.SongFolderScanner;
+import spotify.database.song.scanner.SongFolderWatcher;
+import spotify.database.song.search.SongSearchIndex;
 import spotify.database.user.User;
 import spotify.database.user.exceptions.InvalidEmailException;
 import spotify.database.user.exceptions.UserAlreadyExistsException;
@@ -14,32 +26,42 @@ import spotify.database.user.exceptions.UserNotRegisteredException;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.IOException;
-import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Collection;
-import java.util.Comparator;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
-public class InMemoryDatabase implements Database {
+public class InMemoryDatabase implements Database, SongFolderListener {
     private String songsFolder = "songs/";
     private String databaseFolder = "database/";
     private String usersFileName = "users.txt";
     private String playlistsFileName = "playlistsByUser.txt";
 
-    private static final String WAV_GLOB = "*.wav";
+    private static final int SCAN_CONCURRENCY = 2 * Runtime.getRuntime().availableProcessors();
+    private static final String JOURNAL_FOLDER = "journal/";
+    private static final String STREAMS_FILE_NAME = "streams.dat";
+    private static final String CATALOG_FILE_NAME = "catalog.dat";
+    private static final String TEMPORARY_FILE_EXTENSION = ".tmp";
+    private static final int JOURNAL_COMPACTION_THRESHOLD = 10_000;
 
     private Set<User> users;
     private final Object usersRegisterLock = new Object();
 
-    private final Set<Song> songs;
+    private final SongRegistry songRegistry;
+    private final Object songsUpdateLock = new Object();
+    private final SongSearchIndex songSearchIndex;
+    private final TopSongsChart topSongsChart;
+    private final StreamsCounterStore streamsCounterStore;
+    private final SongCatalog songCatalog;
 
-    private Map<User, Set<Playlist>> playlistsByUser;
-    private final Object playlistLock = new Object();
+    private final PlaylistStore playlistStore;
+
+    private final Journal journal;
+    private SongFolderWatcher songFolderWatcher;
 
     public InMemoryDatabase(String songsFolder, String databaseFolder, String usersFileName, String playlistsFileName) {
         this.songsFolder = songsFolder;
@@ -47,13 +69,22 @@ public class InMemoryDatabase implements Database {
         this.usersFileName = usersFileName;
         this.playlistsFileName = playlistsFileName;
 
-        users = new HashSet<>();
-        songs = new HashSet<>();
-        playlistsByUser = new HashMap<>();
+        users = ConcurrentHashMap.newKeySet();
+        songRegistry = new SongRegistry();
+        songSearchIndex = new SongSearchIndex();
+        topSongsChart = new TopSongsChart();
+        streamsCounterStore = new StreamsCounterStore(Path.of(databaseFolder + STREAMS_FILE_NAME));
+        songCatalog = SongCatalog.read(Path.of(databaseFolder + CATALOG_FILE_NAME));
+        playlistStore = new PlaylistStore();
 
+        watchSongsFolder();
         readSongsFromFolder();
         readUsersFromFile();
         readPlaylistsFromFile();
+
+        journal = new Journal(Path.of(databaseFolder + JOURNAL_FOLDER), JOURNAL_COMPACTION_THRESHOLD,
+            this::writeSnapshot);
+        replayJournal();
     }
 
     @Override
@@ -67,36 +98,94 @@ public class InMemoryDatabase implements Database {
                 users.add(toRegister);
             }
         }
+
+        journal.append(new JournalRecord(JournalRecordType.REGISTER_USER, toRegister.toString()));
     }
 
     @Override
     public void addSong(Song song) {
-        if (doesSongExist(song)) {
-            return;
+        synchronized (songsUpdateLock) {
+            if (!songRegistry.add(song)) {
+                return;
+            }
+
+            streamsCounterStore.register(song);
+            songSearchIndex.add(song);
+            topSongsChart.add(song);
+            song.setStreamsListener(this::onSongStreamed);
         }
+    }
+
+    /**
+     * Replaces the Song read from a Song File that has been added or modified while the Server is running<br>
+     * Searches and Charts are never blocked, they see either the old or the new Song.
+     * The new Song keeps the Streams Count of the Song it replaces and is saved in the Song Catalog
+     */
+    @Override
+    public void onSongFileChanged(String fileName, Song song) {
+        synchronized (songsUpdateLock) {
+            Song previous = songRegistry.get(song.getKey());
+
+            removeSong(songRegistry.getByFileName(fileName));
+            removeSong(previous); // A Song with the same Name in another File is replaced
+            if (previous != null) {
+                song.setStreams(previous.getStreams());
+            }
 
-        songs.add(song);
+            addSong(song);
+            putInSongCatalog(fileName, song);
+        }
     }
 
     @Override
-    public Song getSongBy(String fullName) throws SongNotFoundException {
-        String[] split = fullName.split(Song.SINGER_NAME_REGEX);
+    public void onSongFileRemoved(String fileName) {
+        synchronized (songsUpdateLock) {
+            removeSong(songRegistry.getByFileName(fileName));
+        }
+    }
 
-        if (split.length < 2) {
-            throw new SongNotFoundException("A Song with the Name: " + fullName + " was not found");
+    @Override
+    public Collection<String> getSongFileNames() {
+        return songRegistry.getFileNames();
+    }
+
+    private void removeSong(Song song) {
+        if (!songRegistry.remove(song)) {
+            return;
         }
 
-        String songName = split[1].strip();
-        String singerName = split[0].strip();
-        Song toGet = new Song(songName, singerName);
+        songSearchIndex.remove(song);
+        topSongsChart.remove(song);
+        songCatalog.remove(song.getFileName());
+        song.setStreamsListener(null);
+    }
 
-        for (Song song : songs) {
-            if (toGet.equals(song)) {
-                return song;
-            }
+    private void putInSongCatalog(String fileName, Song song) {
+        try {
+            BasicFileAttributes attributes =
+                Files.readAttributes(Path.of(songsFolder + fileName), BasicFileAttributes.class);
+            songCatalog.put(fileName, attributes.size(), attributes.lastModifiedTime().toMillis(), song);
+        } catch (IOException ignored) {
+            // The Song File is gone again, the Watcher will remove its Song
         }
+    }
 
-        throw new SongNotFoundException("A Song with the Name: " + songName + " by " + singerName + " was not found");
+    private void onSongStreamed(Song song) {
+        topSongsChart.update(song);
+        streamsCounterStore.update(song);
+    }
+
+    @Override
+    public Song getSongBy(String fullName) throws SongNotFoundException {
+        String key = Song.keyOf(fullName);
+
+        Song song = key == null ? null : songRegistry.get(key);
+
+        if (song == null) {
+            throw new SongNotFoundException("A Song with the Name: " + fullName + " was not found");
+        }
+
+        return song;
     }
 
     @Override
@@ -110,34 +199,37 @@ public class InMemoryDatabase implements Database {
 
         Playlist playlist = new PlaylistBase(playlistName, owner);
 
-        if (doesPlaylistExist(playlist)) {
+        if (!playlistStore.add(playlist)) {
             throw new PlaylistAlreadyExistsException(
                 "The User: " + owner.email() + " already has a Playlist with the Name: " + playlistName);
         }
 
-        synchronized (playlistLock) {
-            playlistsByUser.putIfAbsent(owner, new HashSet<>());
-            playlistsByUser.get(owner).add(playlist);
-        }
+        journal.append(new JournalRecord(JournalRecordType.CREATE_PLAYLIST, playlist.toString()));
 
         return playlist;
     }
 
+    @Override
+    public void addSongToPlaylist(Playlist playlist, Song song) {
+        playlist.addSong(song);
+
+        Playlist addedSong = new PlaylistBase(playlist.getName(), playlist.getOwner());
+        addedSong.addSong(song);
+
+        journal.append(new JournalRecord(JournalRecordType.ADD_SONG_TO_PLAYLIST, addedSong.toString()));
+    }
+
     @Override
     public Playlist getPlaylist(String playlistName, User owner)
         throws NoSuchPlaylistException, UserNotRegisteredException {
-        Playlist toFind = new PlaylistBase(playlistName, owner);
-
-        Set<Playlist> userPlaylists = playlistsByUser.get(owner);
+        Playlist playlist = playlistStore.get(owner, playlistName);
 
-        if (userPlaylists == null) {
-            throw new UserNotRegisteredException("A User with Email: " + owner.email() + " does not exist");
+        if (playlist != null) {
+            return playlist;
         }
 
-        for (Playlist playlist : userPlaylists) {
-            if (toFind.equals(playlist)) {
-                return playlist;
-            }
+        if (!playlistStore.hasPlaylists(owner)) {
+            throw new UserNotRegisteredException("A User with Email: " + owner.email() + " does not exist");
         }
 
         throw new NoSuchPlaylistException(
@@ -146,34 +238,38 @@ public class InMemoryDatabase implements Database {
 
     @Override
     public Playlist getPlaylistByName(String playlistName) throws NoSuchPlaylistException {
-        return playlistsByUser.entrySet().stream().flatMap(entry -> entry.getValue().stream())
-            .filter(playlist -> playlist.getName().equalsIgnoreCase(playlistName)).findAny().orElseThrow(
-                () -> new NoSuchPlaylistException("A Playlist with the Name: " + playlistName + " does not exist"));
+        Playlist playlist = playlistStore.getByName(playlistName);
+
+        if (playlist == null) {
+            throw new NoSuchPlaylistException("A Playlist with the Name: " + playlistName + " does not exist");
+        }
+
+        return playlist;
     }
 
     @Override
     public Collection<Song> getMostStreamedSongs() {
-        return getMostStreamedSongs(songs.size());
+        return topSongsChart.getTop(topSongsChart.size());
     }
 
     @Override
     public Collection<Song> getMostStreamedSongs(int limit) {
-        return songs.stream().sorted(Comparator.comparingInt(Song::getStreams).reversed()).limit(limit).toList();
+        return topSongsChart.getTop(limit);
     }
 
     @Override
     public Collection<Song> filterSongsBasedOn(String... filters) {
-        return songs.stream().filter(song -> song.doFiltersApply(filters)).toList();
+        return songSearchIndex.search(filters);
     }
 
     @Override
     public Collection<Song> getAllSongs() {
-        return songs;
+        return songRegistry.getAll();
     }
 
     @Override
     public boolean doesSongExist(Song song) {
-        return songs.contains(song);
+        return songRegistry.contains(song);
     }
 
     @Override
@@ -191,17 +287,49 @@ public class InMemoryDatabase implements Database {
 
     @Override
     public boolean doesPlaylistExist(Playlist playlist) {
-        return playlistsByUser.entrySet().stream().flatMap(entry -> entry.getValue().stream())
-            .anyMatch(toCompare -> toCompare.equals(playlist));
+        return playlistStore.contains(playlist);
     }
 
     private void shutdown() {
+        if (songFolderWatcher != null) {
+            songFolderWatcher.close();
+        }
+        journal.close();
+        streamsCounterStore.close();
+        if (songCatalog.size() > 0 || songCatalog.isChanged()) {
+            writeSongCatalog(); // Saves the latest Streams Counts and the Song Files changed while running
+        }
+
+        writeSnapshot();
+
+        journal.clear();
+    }
+
+    /**
+     * Saves all Users and Playlists to their Files. Every File is replaced atomically,
+     * so a Crash while saving leaves the previous Snapshot intact
+     */
+    private void writeSnapshot() {
         writeCollectionToFile(users, databaseFolder, usersFileName);
 
-        Set<Playlist> allPlaylists =
-            playlistsByUser.entrySet().stream().flatMap(entry -> entry.getValue().stream()).collect(Collectors.toSet());
+        writeCollectionToFile(playlistStore.getAll(), databaseFolder, playlistsFileName);
+    }
 
-        writeCollectionToFile(allPlaylists, databaseFolder, playlistsFileName);
+    /**
+     * Applies all Mutations saved in the Journal after the last Snapshot.
+     * Applying a Mutation that is already in the Snapshot has no Effect
+     */
+    private void replayJournal() {
+        for (JournalRecord record : journal.readAll()) {
+            try {
+                switch (record.type()) {
+                    case REGISTER_USER -> users.add(User.of(record.payload()));
+                    case CREATE_PLAYLIST, ADD_SONG_TO_PLAYLIST -> playlistStore.merge(PlaylistBase.of(record.payload(), this));
+                }
+            } catch (RuntimeException e) {
+                System.out.println("The Journal Record: " + record + " is skipped");
+            }
+        }
     }
 
     private void checkUserPassword(User user) throws UserAlreadyExistsException, UserNotRegisteredException {
@@ -237,7 +365,7 @@ public class InMemoryDatabase implements Database {
         String fileName = databaseFolder + usersFileName;
         try (BufferedReader reader = Files.newBufferedReader(Path.of(fileName))) {
 
-            users = reader.lines().map(User::of).collect(Collectors.toSet());
+            users = reader.lines().map(User::of).collect(Collectors.toCollection(ConcurrentHashMap::newKeySet));
 
         } catch (IOException ignored) {
             //Database file does not exist yet
@@ -248,8 +376,7 @@ public class InMemoryDatabase implements Database {
         String fileName = databaseFolder + playlistsFileName;
         try (BufferedReader reader = Files.newBufferedReader(Path.of(fileName))) {
 
-            playlistsByUser = reader.lines().map(line -> PlaylistBase.of(line, this))
-                .collect(Collectors.groupingBy(Playlist::getOwner, Collectors.toSet()));
+            reader.lines().map(line -> PlaylistBase.of(line, this)).forEach(playlistStore::merge);
 
         } catch (IOException ignored) {
             //Database file does not exist yet
@@ -257,41 +384,57 @@ public class InMemoryDatabase implements Database {
     }
 
     private void writeCollectionToFile(Collection<?> objects, String folder, String fileName) {
-        String fullFileName = folder + fileName;
+        Path filePath = Path.of(folder + fileName);
+        Path temporaryFilePath = Path.of(folder + fileName + TEMPORARY_FILE_EXTENSION);
         Path databaseFolderPath = Path.of(folder);
         try {
             if (!Files.exists(databaseFolderPath)) {
                 Files.createDirectories(databaseFolderPath);
             }
-            try (BufferedWriter bufferedWriter = Files.newBufferedWriter(Path.of(fullFileName))) {
+            try (BufferedWriter bufferedWriter = Files.newBufferedWriter(temporaryFilePath)) {
 
                 for (Object object : objects) {
                     bufferedWriter.write(object.toString() + System.lineSeparator());
                 }
             }
+
+            Files.move(temporaryFilePath, filePath, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
     }
 
-    private void readSongsFromFolder() {
-        try (DirectoryStream<Path> directoryStream = Files.newDirectoryStream(Path.of(songsFolder), WAV_GLOB)) {
-
-            for (Path filePath : directoryStream) {
-                if (!Files.isDirectory(filePath)) {
-                    String fileName = filePath.getFileName().toString();
-                    try {
-                        songs.add(Song.of(songsFolder, fileName));
-
-                    } catch (SongNotFoundException e) {
-                        System.out.println(
-                            "The Song File: " + fileName + " is skipped"); // This should not happen in this method
-                    }
-                }
-            }
+    /**
+     * Starts watching the Songs Folder before it is read, so no Song File added meanwhile is missed
+     */
+    private void watchSongsFolder() {
+        try {
+            songFolderWatcher = new SongFolderWatcher(songsFolder, SCAN_CONCURRENCY, this);
+            songFolderWatcher.start();
+        } catch (IOException e) {
+            System.out.println("The Songs Folder could not be watched, new Songs will be added after a Restart");
+        }
+    }
 
+    private void readSongsFromFolder() {
+        try {
+            new SongFolderScanner(songsFolder, SCAN_CONCURRENCY).scan(songCatalog, this::addSong);
         } catch (IOException e) {
             System.out.println("The Songs Folder could not be opened");
+            return;
+        }
+
+        if (songCatalog.isChanged()) {
+            writeSongCatalog();
+        }
+    }
+
+    private void writeSongCatalog() {
+        try {
+            songCatalog.write();
+        } catch (IOException e) {
+            System.out.println("The Song Catalog could not be saved");
         }
     }
 
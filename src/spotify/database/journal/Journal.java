@@ -0,0 +1,341 @@
+package spotify.database.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An append-only Write-Ahead Journal of Database Mutations
+ * <p>
+ * The Journal is split into Segments saved as "sequenceNumber".log Files in the Journal Folder.
+ * Records are appended only to the last Segment.
+ * </p>
+ * <p>
+ * Appended Records are written by a single Writer Thread in Batches (Group Commit):
+ * every Record that is waiting when the Writer Thread is free is written and
+ * forced to the Disk with a single fsync. {@code append} returns once its Record is durable.
+ * </p>
+ * <p>
+ * After {@code compactionThreshold} Records the Journal is compacted: a new Segment is started,
+ * the {@code snapshotWriter} saves the whole Database and all older Segments are deleted.
+ * Records are appended after the Mutation has been applied in Memory, so the Snapshot already contains
+ * everything that is in the deleted Segments. Replaying a Record more than once must have no Effect.
+ * </p>
+ * <p>
+ * Once the Journal is closed, appending is a no-op
+ * </p>
+ */
+public class Journal implements AutoCloseable {
+    private static final String SEGMENT_EXTENSION = ".log";
+    private static final String SEGMENT_GLOB = "*" + SEGMENT_EXTENSION;
+    private static final int MAX_BATCH_SIZE = 1024;
+    private static final long CLOSE_TIMEOUT_SECONDS = 10;
+
+    private static final PendingRecord END_OF_JOURNAL = new PendingRecord(null, null);
+
+    private final Path folder;
+    private final int compactionThreshold;
+    private final Runnable snapshotWriter;
+
+    private final BlockingQueue<PendingRecord> pendingRecords;
+    private final Object appendLock = new Object();
+    private final ExecutorService compactor;
+
+    private Thread writerThread;
+    private boolean closed;
+
+    private long currentSegment;
+    private FileChannel segmentChannel;
+    private int recordsSinceCompaction;
+
+    /**
+     * Constructs a Journal in {@code folder}
+     *
+     * @param folder              the Folder where the Segments are saved
+     * @param compactionThreshold the Number of Records after which the Journal is compacted
+     * @param snapshotWriter      saves the whole Database so that older Segments can be deleted
+     */
+    public Journal(Path folder, int compactionThreshold, Runnable snapshotWriter) {
+        this.folder = folder;
+        this.compactionThreshold = compactionThreshold;
+        this.snapshotWriter = snapshotWriter;
+
+        pendingRecords = new LinkedBlockingQueue<>();
+        compactor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Journal Compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        currentSegment = getLastSegment() + 1;
+    }
+
+    /**
+     * Reads all Records from all Segments in the Order they were appended<br>
+     * Invalid Records (for example a Record that was only partially written before a Crash) fail their
+     * Length and Checksum and are skipped. Bytes that are not valid UTF-8, like a Character cut in half,
+     * are decoded as Replacement Characters, so only the Record they are in fails its Checksum
+     *
+     * @return the Records in the Journal
+     */
+    public List<JournalRecord> readAll() {
+        List<JournalRecord> records = new ArrayList<>();
+
+        for (long segment : getSegments()) {
+            try {
+                String content = new String(Files.readAllBytes(getSegmentPath(segment)), StandardCharsets.UTF_8);
+
+                content.lines().forEach(line -> {
+                    try {
+                        records.add(JournalRecord.of(line));
+                    } catch (IllegalArgumentException ignored) {
+                        // Skip invalid Record
+                    }
+                });
+            } catch (IOException ignored) {
+                // Segment can not be read
+            }
+        }
+
+        return records;
+    }
+
+    /**
+     * Appends a Record to the Journal and waits until it has been forced to the Disk
+     *
+     * @param record the Record to be appended
+     * @throws RuntimeException if the Record could not be written
+     */
+    public void append(JournalRecord record) {
+        PendingRecord pendingRecord = new PendingRecord(record, new CompletableFuture<>());
+
+        synchronized (appendLock) {
+            if (closed) {
+                return;
+            }
+
+            startWriterThread();
+            pendingRecords.add(pendingRecord);
+        }
+
+        try {
+            pendingRecord.committed().join();
+        } catch (CompletionException e) {
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    /**
+     * Deletes all Segments. Used once the Journal is closed and the whole Database has been saved
+     *
+     * @throws IllegalStateException if the Journal is not closed
+     */
+    public void clear() {
+        synchronized (appendLock) {
+            if (!closed) {
+                throw new IllegalStateException("The Journal must be closed before it is cleared");
+            }
+
+            for (long segment : getSegments()) {
+                deleteSegment(segment);
+            }
+        }
+    }
+
+    /**
+     * Writes all pending Records, stops the Writer Thread and waits for a running Compaction to finish,
+     * so the Snapshot of the Compaction is never written together with a Snapshot saved after {@code close}
+     */
+    @Override
+    public void close() {
+        Thread toJoin;
+        synchronized (appendLock) {
+            if (closed) {
+                return;
+            }
+
+            closed = true;
+            toJoin = writerThread;
+            writerThread = null;
+            pendingRecords.add(END_OF_JOURNAL);
+        }
+
+        try {
+            if (toJoin != null) {
+                toJoin.join();
+            }
+
+            compactor.shutdown();
+            while (!compactor.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                System.out.println("Waiting for the Journal Compaction to finish");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void startWriterThread() {
+        if (writerThread != null) {
+            return;
+        }
+
+        writerThread = new Thread(this::writeRecords, "Journal Writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    private void writeRecords() {
+        List<PendingRecord> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        boolean end = false;
+
+        try {
+            while (!end) {
+                batch.add(pendingRecords.take());
+                pendingRecords.drainTo(batch, MAX_BATCH_SIZE - 1);
+
+                end = batch.remove(END_OF_JOURNAL);
+                writeBatch(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            closeSegmentChannel();
+        }
+    }
+
+    private void writeBatch(List<PendingRecord> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        StringBuilder lines = new StringBuilder();
+        for (PendingRecord pendingRecord : batch) {
+            lines.append(pendingRecord.record().toLine()).append(System.lineSeparator());
+        }
+
+        try {
+            FileChannel channel = getSegmentChannel();
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+
+            batch.forEach(pendingRecord -> pendingRecord.committed().complete(null));
+        } catch (IOException e) {
+            batch.forEach(pendingRecord -> pendingRecord.committed().completeExceptionally(e));
+            return;
+        }
+
+        recordsSinceCompaction += batch.size();
+        if (recordsSinceCompaction >= compactionThreshold) {
+            recordsSinceCompaction = 0;
+            startCompaction();
+        }
+    }
+
+    private void startCompaction() {
+        closeSegmentChannel();
+        long firstKeptSegment = ++currentSegment;
+
+        compactor.execute(() -> {
+            try {
+                snapshotWriter.run();
+            } catch (RuntimeException e) {
+                System.out.println("The Database Snapshot could not be saved. The Journal was not compacted");
+                return;
+            }
+
+            for (long segment : getSegments()) {
+                if (segment < firstKeptSegment) {
+                    deleteSegment(segment);
+                }
+            }
+        });
+    }
+
+    private FileChannel getSegmentChannel() throws IOException {
+        if (segmentChannel == null) {
+            Files.createDirectories(folder);
+            segmentChannel = FileChannel.open(getSegmentPath(currentSegment), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+
+        return segmentChannel;
+    }
+
+    private void closeSegmentChannel() {
+        if (segmentChannel == null) {
+            return;
+        }
+
+        try {
+            segmentChannel.close();
+        } catch (IOException ignored) {
+            // Everything written has already been forced to the Disk
+        }
+        segmentChannel = null;
+    }
+
+    private long getLastSegment() {
+        List<Long> segments = getSegments();
+
+        return segments.isEmpty() ? 0 : segments.get(segments.size() - 1);
+    }
+
+    private List<Long> getSegments() {
+        List<Long> segments = new ArrayList<>();
+
+        if (!Files.isDirectory(folder)) {
+            return segments;
+        }
+
+        try (DirectoryStream<Path> directoryStream = Files.newDirectoryStream(folder, SEGMENT_GLOB)) {
+            for (Path path : directoryStream) {
+                String fileName = path.getFileName().toString();
+
+                try {
+                    segments.add(Long.parseLong(fileName.substring(0, fileName.length() - SEGMENT_EXTENSION.length())));
+                } catch (NumberFormatException ignored) {
+                    // Not a Segment
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("The Journal Folder could not be opened");
+        }
+
+        segments.sort(Long::compare);
+        return segments;
+    }
+
+    private Path getSegmentPath(long segment) {
+        return folder.resolve(segment + SEGMENT_EXTENSION);
+    }
+
+    private void deleteSegment(long segment) {
+        try {
+            Files.deleteIfExists(getSegmentPath(segment));
+        } catch (IOException e) {
+            System.out.println("The Journal Segment: " + segment + " could not be deleted");
+        }
+    }
+
+    private record PendingRecord(JournalRecord record, CompletableFuture<Void> committed) {
+    }
+}
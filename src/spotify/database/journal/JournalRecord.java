@@ -0,0 +1,80 @@
+package spotify.database.journal;
+
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+/**
+ * A single Database Mutation recorded in the Journal
+ * <p>
+ * A Record is saved as 1 Line in the following Format:<br>
+ * "length" "checksum" "type" "payload"<br>
+ * where "length" is the Number of Characters of "type" "payload" and "checksum" is their CRC32 in Hex.
+ * A Line that was cut or damaged by a Crash does not match its Length and Checksum, so it is never replayed
+ * </p>
+ * <p>
+ * The Payload is the same Line the mutated Object is saved as in the Database Files:<br>
+ * REGISTER_USER - a User Line<br>
+ * CREATE_PLAYLIST - a Playlist Line with no Songs<br>
+ * ADD_SONG_TO_PLAYLIST - a Playlist Line with only the added Song
+ * </p>
+ *
+ * @param type    the Type of the Mutation
+ * @param payload the mutated Data
+ */
+public record JournalRecord(JournalRecordType type, String payload) {
+    private static final String REGEX = " ";
+    private static final int SPLIT_SIZE_LIMIT = 2;
+    private static final int TYPE = 0;
+    private static final int PAYLOAD = 1;
+
+    private static final int FRAME_SPLIT_SIZE_LIMIT = 3;
+    private static final int LENGTH = 0;
+    private static final int CHECKSUM = 1;
+    private static final int BODY = 2;
+
+    /**
+     * Parses a Line equivalent to this Class' toLine Method
+     *
+     * @param line the Line to be parsed
+     * @return the parsed Record
+     * @throws IllegalArgumentException if the Line is not a valid Record or its Length or Checksum do not match
+     */
+    public static JournalRecord of(String line) {
+        String[] frame = line.split(REGEX, FRAME_SPLIT_SIZE_LIMIT);
+
+        if (frame.length != FRAME_SPLIT_SIZE_LIMIT ||
+            Integer.parseInt(frame[LENGTH]) != frame[BODY].length() ||
+            Long.parseLong(frame[CHECKSUM], 16) != checksumOf(frame[BODY])) {
+            throw new IllegalArgumentException("Invalid Journal Record: " + line);
+        }
+
+        String[] split = frame[BODY].split(REGEX, SPLIT_SIZE_LIMIT);
+
+        if (split.length != SPLIT_SIZE_LIMIT) {
+            throw new IllegalArgumentException("Invalid Journal Record: " + line);
+        }
+
+        return new JournalRecord(JournalRecordType.valueOf(split[TYPE]), split[PAYLOAD]);
+    }
+
+    /**
+     * @return the Line the Record is saved as in the Journal, with its Length and Checksum
+     */
+    public String toLine() {
+        String body = toString();
+
+        return body.length() + REGEX + Long.toHexString(checksumOf(body)) + REGEX + body;
+    }
+
+    private static long checksumOf(String body) {
+        CRC32 crc = new CRC32();
+        crc.update(body.getBytes(StandardCharsets.UTF_8));
+
+        return crc.getValue();
+    }
+
+    @Override
+    public String toString() {
+        return type + REGEX + payload;
+    }
+}
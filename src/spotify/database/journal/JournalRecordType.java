@@ -0,0 +1,8 @@
+package spotify.database.journal;
+
+/**
+ * The Types of Database Mutations that are recorded in the Journal
+ */
+public enum JournalRecordType {
+    REGISTER_USER, CREATE_PLAYLIST, ADD_SONG_TO_PLAYLIST
+}
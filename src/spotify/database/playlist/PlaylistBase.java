@@ -6,8 +6,8 @@ import spotify.database.song.exceptions.SongNotFoundException;
 import spotify.database.user.User;
 
 import java.util.Collection;
-import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 public class PlaylistBase implements Playlist {
@@ -25,7 +25,7 @@ public class PlaylistBase implements Playlist {
      * @param owner the Owner of the Playlist
      */
     public PlaylistBase(String name, User owner) {
-        songs = new HashSet<>();
+        songs = ConcurrentHashMap.newKeySet();
         this.name = name;
         this.owner = owner;
     }
@@ -56,7 +56,7 @@ public class PlaylistBase implements Playlist {
         User owner = User.of(ownerSongsSplit[0]);
         String playlistName = ownerSongsSplit[1];
 
-        Set<Song> songSet = new HashSet<>();
+        Set<Song> songSet = ConcurrentHashMap.newKeySet();
 
         String[] songsSplit = ownerSongsSplit[2].split(",");
         for (String songLine : songsSplit) {
@@ -74,7 +74,7 @@ public class PlaylistBase implements Playlist {
     }
 
     @Override
-    public synchronized void addSong(Song song) {
+    public void addSong(Song song) {
         songs.add(song);
     }
 
@@ -0,0 +1,111 @@
+package spotify.database.playlist.store;
+
+import spotify.database.playlist.Playlist;
+import spotify.database.user.User;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The Store of all User Playlists
+ * <p>
+ * The Playlists of every Owner are kept in a {@code ConcurrentHashMap} by their case-folded Names,
+ * so finding a Playlist of a User and checking whether it exists are O(1) and need no Lock.
+ * A global Index by case-folded Name finds a Playlist when the Owner is not known. Different Users may have
+ * Playlists with the same Name, the Index keeps the first one that was added.
+ * </p>
+ * <p>
+ * Adding a Playlist is atomic, so two concurrent Requests of the same Owner creating a Playlist with the same Name
+ * can not both succeed
+ * </p>
+ */
+public class PlaylistStore {
+    private final Map<User, Map<String, Playlist>> playlistsByOwner;
+    private final Map<String, Playlist> playlistsByName;
+
+    public PlaylistStore() {
+        playlistsByOwner = new ConcurrentHashMap<>();
+        playlistsByName = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Adds a Playlist, if its Owner has no Playlist with the same Name yet
+     *
+     * @param playlist the Playlist to be added
+     * @return true if the Playlist was added
+     */
+    public boolean add(Playlist playlist) {
+        String name = foldName(playlist.getName());
+
+        Map<String, Playlist> ownerPlaylists =
+            playlistsByOwner.computeIfAbsent(playlist.getOwner(), owner -> new ConcurrentHashMap<>());
+
+        if (ownerPlaylists.putIfAbsent(name, playlist) != null) {
+            return false;
+        }
+
+        playlistsByName.putIfAbsent(name, playlist);
+        return true;
+    }
+
+    /**
+     * Adds a Playlist, or adds its Songs to the Playlist of its Owner with the same Name
+     *
+     * @param toMerge the Playlist to be merged
+     */
+    public void merge(Playlist toMerge) {
+        if (!add(toMerge)) {
+            Playlist playlist = get(toMerge.getOwner(), toMerge.getName());
+            toMerge.getSongs().forEach(playlist::addSong);
+        }
+    }
+
+    /**
+     * @param owner the Owner of the Playlist
+     * @param name  the Name of the Playlist, case-insensitive
+     * @return the Playlist or null
+     */
+    public Playlist get(User owner, String name) {
+        Map<String, Playlist> ownerPlaylists = playlistsByOwner.get(owner);
+
+        return ownerPlaylists == null ? null : ownerPlaylists.get(foldName(name));
+    }
+
+    /**
+     * @param name the Name of the Playlist, case-insensitive
+     * @return a Playlist with that Name of any User or null
+     */
+    public Playlist getByName(String name) {
+        return playlistsByName.get(foldName(name));
+    }
+
+    public boolean contains(Playlist playlist) {
+        return get(playlist.getOwner(), playlist.getName()) != null;
+    }
+
+    /**
+     * @param owner the User
+     * @return true if the User has created at least one Playlist
+     */
+    public boolean hasPlaylists(User owner) {
+        return playlistsByOwner.containsKey(owner);
+    }
+
+    /**
+     * @return a Copy of all Playlists of all Users
+     */
+    public Collection<Playlist> getAll() {
+        List<Playlist> playlists = new ArrayList<>();
+        playlistsByOwner.values().forEach(ownerPlaylists -> playlists.addAll(ownerPlaylists.values()));
+
+        return playlists;
+    }
+
+    private static String foldName(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
@@ -2,12 +2,12 @@ package spotify.database.song;
 
 import spotify.database.song.exceptions.SongNotFoundException;
 
+import spotify.database.song.wav.WavHeader;
+
 import javax.sound.sampled.AudioFormat;
-import javax.sound.sampled.AudioInputStream;
-import javax.sound.sampled.AudioSystem;
-import javax.sound.sampled.UnsupportedAudioFileException;
-import java.io.File;
 import java.io.IOException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
 import java.util.Locale;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -30,10 +30,16 @@ public class Song {
     private static final int NAME = 1;
 
     public static final String WAV = ".wav";
+    private static final char SINGER_NAME_SEPARATOR = '-';
+
     private final String singerName;
     private final String songName;
     private final String fileName;
+    private final String key;
+    private final String singerNameLowerCase;
+    private final String songNameLowerCase;
     private final AtomicInteger streams;
+    private volatile SongStreamsListener streamsListener;
 
     private AudioFormat.Encoding encoding;
     private float sampleRate;
@@ -42,6 +48,7 @@ public class Song {
     private int frameSize;
     private float frameRate;
     private boolean bigEndian;
+    private long dataOffset;
 
     /**
      * Construct a Song with all the Parameters needed to construct an Instance of {@code AudioFormat}<br>
@@ -52,6 +59,21 @@ public class Song {
      * @param format     - the {@code AudioFormat} of the Song
      */
     public Song(String songName, String singerName, String fileName, AudioFormat format) {
+        this(songName, singerName, fileName, format, 0);
+    }
+
+    /**
+     * Construct a Song with all the Parameters needed to construct an Instance of {@code AudioFormat}
+     * and the Position of its Audio Data in the Song File<br>
+     *
+     * @param songName   the Name of the Song
+     * @param singerName the Name of the Singer
+     * @param fileName   the Name of the File where the Song was read from
+     * @param format     - the {@code AudioFormat} of the Song
+     * @param dataOffset the Position of the first Audio Frame in the Song File
+     */
+    public Song(String songName, String singerName, String fileName, AudioFormat format, long dataOffset) {
+        this.dataOffset = dataOffset;
         encoding = format.getEncoding();
         sampleRate = format.getSampleRate();
         sampleSizeInBits = format.getSampleSizeInBits();
@@ -63,6 +85,9 @@ public class Song {
         this.singerName = singerName;
         this.songName = songName;
         this.fileName = fileName;
+        key = keyOf(singerName, songName);
+        singerNameLowerCase = singerName.toLowerCase(Locale.ROOT);
+        songNameLowerCase = songName.toLowerCase(Locale.ROOT);
 
         streams = new AtomicInteger(0);
     }
@@ -79,16 +104,44 @@ public class Song {
         this.singerName = singerName;
         this.songName = songName;
         fileName = "";
+        key = keyOf(singerName, songName);
+        singerNameLowerCase = singerName.toLowerCase(Locale.ROOT);
+        songNameLowerCase = songName.toLowerCase(Locale.ROOT);
 
         streams = new AtomicInteger(0);
     }
 
     /**
-     * Increments the Streams of the Song<br>
+     * Increments the Streams of the Song and notifies its {@code SongStreamsListener}, if it has one<br>
      * This is a Thread Safe Operation since multiple Users can listen to the same Song
      */
     public void stream() {
         streams.incrementAndGet();
+
+        SongStreamsListener listener = streamsListener;
+        if (listener != null) {
+            listener.onStream(this);
+        }
+    }
+
+    /**
+     * Sets the Listener that is notified every time the Song is streamed<br>
+     * The Database the Song is added to uses it to keep its Charts up to date
+     *
+     * @param streamsListener the Listener, null removes the current one
+     */
+    public void setStreamsListener(SongStreamsListener streamsListener) {
+        this.streamsListener = streamsListener;
+    }
+
+    /**
+     * Sets the Streams of the Song without notifying its {@code SongStreamsListener}<br>
+     * Used when the Streams are restored after a Restart
+     *
+     * @param streams the saved Streams of the Song
+     */
+    public void setStreams(int streams) {
+        this.streams.set(streams);
     }
 
     public int getStreams() {
@@ -107,6 +160,120 @@ public class Song {
         return fileName;
     }
 
+    public String getSongNameLowerCase() {
+        return songNameLowerCase;
+    }
+
+    public String getSingerNameLowerCase() {
+        return singerNameLowerCase;
+    }
+
+    /**
+     * Returns the normalized Key of the Song. Two Songs are equal if and only if their Keys are equal
+     *
+     * @return the case-folded "singer - name" of the Song
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Constructs the normalized Key of a Song from its Singer Name and Song Name<br>
+     * Both Names are stripped and case-folded and joined by {@code SINGER_NAME_CONCATENATION}
+     *
+     * @param singerName the Name of the Singer
+     * @param songName   the Name of the Song
+     * @return the normalized Key
+     */
+    public static String keyOf(String singerName, String songName) {
+        StringBuilder key = new StringBuilder(singerName.length() + songName.length() + 3);
+
+        appendNormalized(key, singerName, 0, singerName.length());
+        key.append(SINGER_NAME_CONCATENATION);
+        appendNormalized(key, songName, 0, songName.length());
+
+        return key.toString();
+    }
+
+    /**
+     * Constructs the normalized Key of a Song from its full Name without using Regular Expressions
+     * <p>
+     * A Song full Name is: <br>
+     * "SingerName"-"SongName"<br>
+     * Everything before the first Dash is the Singer Name, everything after it is the Song Name
+     * </p>
+     *
+     * @param fullName the full Name of the Song
+     * @return the normalized Key or null if {@code fullName} does not contain a Singer Name and a Song Name
+     */
+    public static String keyOf(String fullName) {
+        int separatorIndex = fullName.indexOf(SINGER_NAME_SEPARATOR);
+
+        if (separatorIndex == -1) {
+            return null;
+        }
+
+        StringBuilder key = new StringBuilder(fullName.length() + 2);
+
+        appendNormalized(key, fullName, 0, separatorIndex);
+        key.append(SINGER_NAME_CONCATENATION);
+
+        int songNameStart = key.length();
+        appendNormalized(key, fullName, separatorIndex + 1, fullName.length());
+
+        if (key.length() == songNameStart) { // No Song Name after the Dash
+            return null;
+        }
+
+        return key.toString();
+    }
+
+    private static void appendNormalized(StringBuilder builder, String str, int from, int to) {
+        while (from < to && Character.isWhitespace(str.charAt(from))) {
+            ++from;
+        }
+        while (to > from && Character.isWhitespace(str.charAt(to - 1))) {
+            --to;
+        }
+
+        for (int i = from; i < to; ++i) {
+            builder.append(Character.toLowerCase(str.charAt(i)));
+        }
+    }
+
+    /**
+     * Finds the Position in the Song File where the Audio at {@code seconds} starts<br>
+     * The Position is aligned to a whole Frame, so the Audio can be played from it
+     *
+     * @param seconds the Time from the Start of the Song
+     * @return the Position of the Frame that is played at {@code seconds},
+     * or the Position of the first Frame if the Audio Format of the Song is unknown,
+     * or {@code Long.MAX_VALUE} if the Position does not fit in a {@code long} (it is after the End of any Song)
+     */
+    public long getOffsetOf(double seconds) {
+        if (frameRate <= 0 || frameSize <= 0 || !(seconds > 0)) {
+            return dataOffset;
+        }
+
+        long frames = (long) (seconds * frameRate); // Saturates at Long.MAX_VALUE
+        try {
+            return Math.addExact(dataOffset, Math.multiplyExact(frames, (long) frameSize));
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * @return the {@code AudioFormat} of the Song, or null if the Song was constructed without one
+     */
+    public AudioFormat getAudioFormat() {
+        if (encoding == null) {
+            return null;
+        }
+
+        return new AudioFormat(encoding, sampleRate, sampleSizeInBits, channels, frameSize, frameRate, bigEndian);
+    }
+
     /**
      * Constructs a String of the Parameters needed to create an Instance of {@code AudioFormat}<br>
      * The Order of the Parameters in the Constructor of {@code AudioFormat} is the same in the constructed String
@@ -127,13 +294,8 @@ public class Song {
      * @return true if 1 of the {@code filters} applies to this Song, false if none apply
      */
     public boolean doFiltersApply(String... filters) {
-        String nameLowerCase = songName.toLowerCase(Locale.ROOT);
-        String singerLowerCase = singerName.toLowerCase(Locale.ROOT);
-
         for (String filter : filters) {
-            String filterLowerCase = filter.toLowerCase(Locale.ROOT);
-
-            if (nameLowerCase.contains(filterLowerCase) || singerLowerCase.contains(filterLowerCase)) {
+            if (doesLowerCaseFilterApply(filter.toLowerCase(Locale.ROOT))) {
                 return true;
             }
         }
@@ -141,6 +303,16 @@ public class Song {
         return false;
     }
 
+    /**
+     * Checks if an already lower-cased Filter is a substring of the Song's Name or Singer Name
+     *
+     * @param filterLowerCase the lower-cased Filter to be checked
+     * @return true if the Filter applies to this Song, false otherwise
+     */
+    public boolean doesLowerCaseFilterApply(String filterLowerCase) {
+        return songNameLowerCase.contains(filterLowerCase) || singerNameLowerCase.contains(filterLowerCase);
+    }
+
     /**
      * Constructs a Song by reading it from a File in the File System<br>
      *
@@ -159,6 +331,10 @@ public class Song {
      * That means that all the trailing Whitespaces in it are not removed
      * </p>
      *
+     * <p>
+     * Only the Header of the File is read (see {@code WavHeader})
+     * </p>
+     *
      * @param folderName the Folder where the Song is read from
      * @param fileName   the File Name of the Song
      * @return an Instance of Song with all its Audio Format data included
@@ -177,17 +353,13 @@ public class Song {
         String name = splitWholeName[NAME];
         String singerName = splitWholeName[SINGER];
 
-        Song toReturn;
-        try (AudioInputStream inputStream = AudioSystem.getAudioInputStream(new File(folderName + fileName))) {
+        try {
+            WavHeader header = WavHeader.read(Path.of(folderName + fileName));
 
-            AudioFormat audioFormat = inputStream.getFormat();
-            toReturn = new Song(name, singerName, fileName, audioFormat);
-
-        } catch (UnsupportedAudioFileException | IOException e) {
+            return new Song(name, singerName, fileName, header.getAudioFormat(), header.getDataOffset());
+        } catch (IOException | InvalidPathException e) {
             throw new SongNotFoundException("A Song with the Name: " + name + " does not exist");
         }
-
-        return toReturn;
     }
 
     @Override
@@ -199,19 +371,12 @@ public class Song {
 
         Song song = (Song) o;
 
-        if (!songName.equalsIgnoreCase(song.songName))
-            return false;
-        return singerName.equalsIgnoreCase(song.singerName);
+        return key.equals(song.key);
     }
 
     @Override
     public int hashCode() {
-        String songNameLowerCase = songName.toLowerCase();
-        String singerNameLowerCase = songName.toLowerCase();
-
-        int result = songNameLowerCase.hashCode();
-        result = 31 * result + singerNameLowerCase.hashCode();
-        return result;
+        return key.hashCode();
     }
 
     @Override
@@ -232,4 +397,12 @@ public class Song {
     public int getFrameSize() {
         return frameSize;
     }
+
+    public float getFrameRate() {
+        return frameRate;
+    }
+
+    public long getDataOffset() {
+        return dataOffset;
+    }
 }
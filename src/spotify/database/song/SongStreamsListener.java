@@ -0,0 +1,14 @@
+package spotify.database.song;
+
+/**
+ * Gets notified every time a Song's Streams Counter is incremented
+ */
+@FunctionalInterface
+public interface SongStreamsListener {
+    /**
+     * Called right after the Streams Counter of {@code song} has been incremented
+     *
+     * @param song the streamed Song
+     */
+    void onStream(Song song);
+}
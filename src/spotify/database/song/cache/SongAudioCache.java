@@ -0,0 +1,254 @@
+package spotify.database.song.cache;
+
+import spotify.database.song.Song;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * A Cache of the Audio Files of frequently streamed Songs held in off-heap (direct) Buffers
+ * <p>
+ * The Cache never holds more than {@code budget} Bytes. It is a Segmented LRU:
+ * a Song enters the Probation Segment when it is loaded and is promoted to the Protected Segment
+ * when it is requested again. The Protected Segment holds at most {@code PROTECTED_SHARE} of the Budget,
+ * its least recently used Songs are demoted back to Probation.
+ * </p>
+ * <p>
+ * When there is no Space for a Song, the least recently used Songs (Probation first) are evicted.
+ * A Song is admitted only if it has been streamed at least as many Times as every Song it would evict,
+ * so a Song that is played once does not push out the Hits.
+ * </p>
+ * <p>
+ * Songs are loaded asynchronously by a single Daemon Thread, so a Miss never blocks the Caller.
+ * All Streams of a Song share its single Buffer through read-only Views.
+ * An evicted Buffer is freed once the last Stream that uses it ends.
+ * </p>
+ * <p>
+ * The cached Audio belongs to the Song Instance it was loaded for. A Song that has been read again
+ * from its modified File is a new Instance, so the Audio of the old File is dropped instead of being streamed
+ * </p>
+ */
+public class SongAudioCache {
+    private static final double PROTECTED_SHARE = 0.8;
+
+    private final long budget;
+    private final long protectedBudget;
+
+    private final Map<Song, CachedAudio> probation;
+    private final Map<Song, CachedAudio> protectedSegment;
+    private final Set<Song> loading;
+    private long probationBytes;
+    private long protectedBytes;
+
+    private ExecutorService loader;
+
+    /**
+     * @param budget the maximum Number of Bytes held by the Cache, 0 disables the Cache
+     */
+    public SongAudioCache(long budget) {
+        this.budget = budget;
+        this.protectedBudget = (long) (budget * PROTECTED_SHARE);
+
+        probation = new LinkedHashMap<>(16, 0.75f, true);
+        protectedSegment = new LinkedHashMap<>(16, 0.75f, true);
+        loading = new HashSet<>();
+    }
+
+    /**
+     * Gets the cached Audio of a Song
+     *
+     * @param song the Song
+     * @return a read-only View of the whole Audio File positioned at 0, or null if the Song is not cached
+     */
+    public synchronized ByteBuffer get(Song song) {
+        evictIfStale(song);
+
+        CachedAudio cached = protectedSegment.get(song);
+        if (cached != null) {
+            return cached.audio().asReadOnlyBuffer();
+        }
+
+        cached = probation.remove(song);
+        if (cached == null) {
+            return null;
+        }
+
+        probationBytes -= cached.size();
+        protectedSegment.put(song, cached);
+        protectedBytes += cached.size();
+        demoteProtectedOverflow();
+
+        return cached.audio().asReadOnlyBuffer();
+    }
+
+    /**
+     * Loads the Audio of a Song in the Background, if it is not cached and it is admitted
+     *
+     * @param song the Song
+     * @param file the Song's Audio File
+     */
+    public void load(Song song, Path file) {
+        if (budget <= 0) {
+            return;
+        }
+
+        synchronized (this) {
+            evictIfStale(song);
+
+            if (probation.containsKey(song) || protectedSegment.containsKey(song) || !loading.add(song)) {
+                return;
+            }
+
+            if (loader == null) {
+                loader = Executors.newSingleThreadExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "Song Audio Cache Loader");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+        }
+
+        loader.execute(() -> {
+            try {
+                loadNow(song, file);
+            } finally {
+                synchronized (this) {
+                    loading.remove(song);
+                }
+            }
+        });
+    }
+
+    public synchronized long getUsedBytes() {
+        return probationBytes + protectedBytes;
+    }
+
+    public synchronized boolean contains(Song song) {
+        return probation.containsKey(song) || protectedSegment.containsKey(song);
+    }
+
+    private void loadNow(Song song, Path file) {
+        try {
+            long size = Files.size(file);
+            synchronized (this) {
+                if (getVictims(song, size) == null) {
+                    return;
+                }
+            }
+
+            ByteBuffer audio = read(file, size);
+
+            synchronized (this) {
+                List<Song> victims = getVictims(song, size);
+                if (victims == null) {
+                    return;
+                }
+
+                victims.forEach(this::evict);
+                probation.put(song, new CachedAudio(song, audio));
+                probationBytes += size;
+            }
+        } catch (IOException e) {
+            System.out.println("The Song: " + song + " could not be cached");
+        }
+    }
+
+    /**
+     * Finds the Songs that must be evicted so that {@code size} Bytes fit in the Cache
+     *
+     * @return the Songs to be evicted or null if the Song is not admitted
+     */
+    private List<Song> getVictims(Song song, long size) {
+        if (size > budget || size > Integer.MAX_VALUE) {
+            return null;
+        }
+
+        List<Song> victims = new ArrayList<>();
+        long free = budget - probationBytes - protectedBytes;
+
+        for (Map<Song, CachedAudio> segment : List.of(probation, protectedSegment)) {
+            Iterator<CachedAudio> iterator = segment.values().iterator();
+
+            while (free < size && iterator.hasNext()) {
+                CachedAudio victim = iterator.next();
+
+                if (victim.song().getStreams() > song.getStreams()) {
+                    return null;
+                }
+
+                victims.add(victim.song());
+                free += victim.size();
+            }
+        }
+
+        return free >= size ? victims : null;
+    }
+
+    private void evict(Song song) {
+        CachedAudio cached = probation.remove(song);
+        if (cached != null) {
+            probationBytes -= cached.size();
+            return;
+        }
+
+        cached = protectedSegment.remove(song);
+        if (cached != null) {
+            protectedBytes -= cached.size();
+        }
+    }
+
+    /**
+     * Evicts the Audio cached for another Instance of the Song, i.e. for the Song's File before it was modified
+     */
+    private void evictIfStale(Song song) {
+        CachedAudio cached = probation.containsKey(song) ? probation.get(song) : protectedSegment.get(song);
+
+        if (cached != null && cached.song() != song) {
+            evict(song);
+        }
+    }
+
+    private void demoteProtectedOverflow() {
+        Iterator<CachedAudio> iterator = protectedSegment.values().iterator();
+
+        while (protectedBytes > protectedBudget && iterator.hasNext()) {
+            CachedAudio eldest = iterator.next();
+            iterator.remove();
+
+            protectedBytes -= eldest.size();
+            probation.put(eldest.song(), eldest);
+            probationBytes += eldest.size();
+        }
+    }
+
+    private static ByteBuffer read(Path file, long size) throws IOException {
+        ByteBuffer audio = ByteBuffer.allocateDirect((int) size);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (audio.hasRemaining() && channel.read(audio) >= 0) {
+                // Keep reading until the whole File is in the Buffer
+            }
+        }
+
+        return audio.flip();
+    }
+
+    private record CachedAudio(Song song, ByteBuffer audio) {
+        private int size() {
+            return audio.capacity();
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package spotify.database.song.cache;
+
+import spotify.database.song.Song;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A Registry of the memory-mapped Audio Files of the Songs that are being streamed
+ * <p>
+ * Every Song File is mapped once and all its Streams read from read-only Views of the same Mapping,
+ * so a Stream needs no File Descriptor of its own and the Pages are shared through the Page Cache
+ * of the Operating System. The File Channel is closed right after mapping, the Mapping stays valid.
+ * </p>
+ * <p>
+ * Each Mapping counts the Streams that use it. A Mapping without Streams is kept, so that the next Stream
+ * of the Song does not map it again, until more than {@code maxIdleMappings} Mappings are unused -
+ * then the least recently released ones are dropped.
+ * Java can not unmap a File explicitly, a dropped Mapping is unmapped when it is garbage collected.
+ * </p>
+ * <p>
+ * A Mapping belongs to the Song Instance it was created for. A Song that has been read again from its modified File
+ * is a new Instance, so it gets a new Mapping. The old one is dropped and is unmapped after its Streams have ended
+ * </p>
+ */
+public class SongFileMappings {
+    private final int maxIdleMappings;
+
+    private final Map<Song, Mapping> mappings;
+    private final Map<Song, Mapping> idleMappings;
+
+    /**
+     * @param maxIdleMappings the maximum Number of Mappings kept without Streams that use them
+     */
+    public SongFileMappings(int maxIdleMappings) {
+        this.maxIdleMappings = maxIdleMappings;
+
+        mappings = new HashMap<>();
+        idleMappings = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Gets the mapped Audio of a Song, mapping its File if it is not mapped yet<br>
+     * Every successful Call must be followed by a Call to {@code release} when the Stream ends
+     *
+     * @param song the Song
+     * @param file the Song's Audio File
+     * @return a read-only View of the whole Audio File positioned at 0,
+     * or null if the File is too large to be mapped in a single Buffer
+     * @throws IOException if the File could not be mapped
+     */
+    public synchronized ByteBuffer acquire(Song song, Path file) throws IOException {
+        Mapping mapping = mappings.get(song);
+
+        if (mapping != null && mapping.song != song) {
+            mappings.remove(song);
+            idleMappings.remove(song);
+            mapping = null;
+        }
+
+        if (mapping == null) {
+            MappedByteBuffer audio = map(file);
+            if (audio == null) {
+                return null;
+            }
+
+            mapping = new Mapping(song, audio);
+            mappings.put(song, mapping);
+        } else if (mapping.streams == 0) {
+            idleMappings.remove(song);
+        }
+
+        ++mapping.streams;
+        return mapping.audio.asReadOnlyBuffer();
+    }
+
+    /**
+     * Marks that a Stream no longer uses the Mapping of a Song
+     *
+     * @param song the Song
+     */
+    public synchronized void release(Song song) {
+        Mapping mapping = mappings.get(song);
+        if (mapping == null || mapping.song != song || mapping.streams == 0) {
+            return;
+        }
+
+        if (--mapping.streams == 0) {
+            idleMappings.put(song, mapping);
+            dropColdMappings();
+        }
+    }
+
+    public synchronized int getMappingsCount() {
+        return mappings.size();
+    }
+
+    public synchronized boolean isMapped(Song song) {
+        return mappings.containsKey(song);
+    }
+
+    private void dropColdMappings() {
+        Iterator<Song> iterator = idleMappings.keySet().iterator();
+
+        while (idleMappings.size() > maxIdleMappings && iterator.hasNext()) {
+            mappings.remove(iterator.next());
+            iterator.remove();
+        }
+    }
+
+    private static MappedByteBuffer map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                return null;
+            }
+
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+    }
+
+    private static class Mapping {
+        private final Song song;
+        private final MappedByteBuffer audio;
+        private int streams;
+
+        private Mapping(Song song, MappedByteBuffer audio) {
+            this.song = song;
+            this.audio = audio;
+        }
+    }
+}
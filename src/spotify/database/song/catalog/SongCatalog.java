@@ -0,0 +1,218 @@
+package spotify.database.song.catalog;
+
+import spotify.database.song.Song;
+
+import javax.sound.sampled.AudioFormat;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A Snapshot of the Metadata of all Song Files in the Songs Folder
+ * <p>
+ * For every Song File the Catalog saves its Name, Size and last Modified Time, the parsed Singer and Song Name,
+ * the Audio Format, the Position of the Audio Data and the Streams Count. The Catalog from the previous Start
+ * is read in one sequential Pass, and the Header of a Song File is read again only if its Size or
+ * last Modified Time has changed, so a Restart does not probe the whole Songs Folder.
+ * </p>
+ * <p>
+ * The Catalog of the current Start is built with {@code put} as the Songs Folder is scanned,
+ * so Song Files that have been deleted are left out when it is written.
+ * Reading and building the Catalog is Thread Safe
+ * </p>
+ * <p>
+ * File Format: {@code MAGIC}, {@code VERSION}, the Number of Entries and then every Entry.
+ * A File with another Magic or Version is ignored and every Song File is probed again
+ * </p>
+ */
+public class SongCatalog {
+    private static final int MAGIC = 0x53434154; // "SCAT"
+    private static final int VERSION = 1;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String TEMPORARY_FILE_EXTENSION = ".tmp";
+
+    private final Path file;
+    private final Map<String, Entry> previousEntries;
+    private final Map<String, Entry> entries;
+
+    private SongCatalog(Path file, Map<String, Entry> previousEntries) {
+        this.file = file;
+        this.previousEntries = previousEntries;
+        this.entries = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Reads the Catalog saved in {@code file}
+     *
+     * @param file the Catalog File
+     * @return the read Catalog, or an empty one if the File does not exist or can not be read
+     */
+    public static SongCatalog read(Path file) {
+        Map<String, Entry> previousEntries = new HashMap<>();
+
+        try (DataInputStream input =
+                 new DataInputStream(new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE))) {
+            if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+                System.out.println("The Song Catalog has an unknown Format and is rebuilt");
+                return new SongCatalog(file, Map.of());
+            }
+
+            int count = input.readInt();
+            for (int i = 0; i < count; i++) {
+                Entry entry = readEntry(input);
+                previousEntries.put(entry.fileName(), entry);
+            }
+        } catch (NoSuchFileException e) {
+            return new SongCatalog(file, Map.of());
+        } catch (IOException | IllegalArgumentException e) {
+            System.out.println("The Song Catalog could not be read and is rebuilt");
+            return new SongCatalog(file, Map.of());
+        }
+
+        return new SongCatalog(file, previousEntries);
+    }
+
+    /**
+     * Gets the Song of a Song File from the previous Catalog, if the File has not changed since
+     *
+     * @param fileName     the Name of the Song File
+     * @param size         the current Size of the Song File
+     * @param lastModified the current last Modified Time of the Song File in Milliseconds
+     * @return the saved Song with its saved Streams Count, or null if the Song File must be probed again
+     */
+    public Song get(String fileName, long size, long lastModified) {
+        Entry entry = previousEntries.get(fileName);
+        if (entry == null || entry.size() != size || entry.lastModified() != lastModified) {
+            return null;
+        }
+
+        Song song = entry.song();
+        song.setStreams(entry.streams());
+
+        return song;
+    }
+
+    /**
+     * Adds a Song File to the Catalog of the current Start
+     *
+     * @param fileName     the Name of the Song File
+     * @param size         the Size of the Song File
+     * @param lastModified the last Modified Time of the Song File in Milliseconds
+     * @param song         the Song read from the File
+     */
+    public void put(String fileName, long size, long lastModified, Song song) {
+        entries.put(fileName, new Entry(fileName, size, lastModified, song, 0));
+    }
+
+    /**
+     * Removes a Song File that has been deleted or replaced from the Catalog of the current Start
+     *
+     * @param fileName the Name of the Song File
+     */
+    public void remove(String fileName) {
+        entries.remove(fileName);
+    }
+
+    /**
+     * @return true if the Catalog of the current Start differs from the previous Catalog
+     */
+    public boolean isChanged() {
+        if (entries.size() != previousEntries.size()) {
+            return true;
+        }
+
+        for (Entry entry : entries.values()) {
+            Entry previous = previousEntries.get(entry.fileName());
+
+            if (previous == null || previous.size() != entry.size() || previous.lastModified() != entry.lastModified()) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Saves the Catalog of the current Start with the current Streams Counts of its Songs<br>
+     * The File is replaced atomically, so a Crash while saving leaves the previous Catalog intact
+     *
+     * @throws IOException if the Catalog could not be saved
+     */
+    public void write() throws IOException {
+        Collection<Entry> toWrite = entries.values();
+        Path temporaryFile = Path.of(file + TEMPORARY_FILE_EXTENSION);
+
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+
+        try (DataOutputStream output =
+                 new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryFile), BUFFER_SIZE))) {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeInt(toWrite.size());
+
+            for (Entry entry : toWrite) {
+                writeEntry(output, entry);
+            }
+        }
+
+        Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private static void writeEntry(DataOutputStream output, Entry entry) throws IOException {
+        Song song = entry.song();
+        AudioFormat format = song.getAudioFormat();
+
+        output.writeUTF(entry.fileName());
+        output.writeLong(entry.size());
+        output.writeLong(entry.lastModified());
+        output.writeUTF(song.getSingerName());
+        output.writeUTF(song.getSongName());
+
+        output.writeUTF(format.getEncoding().toString());
+        output.writeFloat(format.getSampleRate());
+        output.writeInt(format.getSampleSizeInBits());
+        output.writeInt(format.getChannels());
+        output.writeInt(format.getFrameSize());
+        output.writeFloat(format.getFrameRate());
+        output.writeBoolean(format.isBigEndian());
+        output.writeLong(song.getDataOffset());
+
+        output.writeInt(song.getStreams());
+    }
+
+    private static Entry readEntry(DataInputStream input) throws IOException {
+        String fileName = input.readUTF();
+        long size = input.readLong();
+        long lastModified = input.readLong();
+        String singerName = input.readUTF();
+        String songName = input.readUTF();
+
+        AudioFormat format = new AudioFormat(new AudioFormat.Encoding(input.readUTF()), input.readFloat(),
+            input.readInt(), input.readInt(), input.readInt(), input.readFloat(), input.readBoolean());
+        long dataOffset = input.readLong();
+
+        int streams = input.readInt();
+
+        return new Entry(fileName, size, lastModified, new Song(songName, singerName, fileName, format, dataOffset),
+            streams);
+    }
+
+    private record Entry(String fileName, long size, long lastModified, Song song, int streams) {
+    }
+}
@@ -0,0 +1,105 @@
+package spotify.database.song.chart;
+
+import spotify.database.song.Song;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * A Chart of Songs kept sorted by their Streams Count
+ * <p>
+ * The Chart is updated incrementally every time a Song is streamed, so
+ * getting the top N Songs only walks the first N Entries instead of sorting all Songs.
+ * </p>
+ * <p>
+ * Each Song has exactly 1 Entry in the Chart. The Entry is replaced atomically for the given Song,
+ * so concurrent Streams of the same Song can not leave stale Entries behind.
+ * Reading the Chart while it is updated is weakly consistent and never blocks
+ * </p>
+ */
+public class TopSongsChart {
+    private static final Comparator<Entry> MOST_STREAMED_FIRST =
+        Comparator.comparingInt(Entry::streams).reversed().thenComparing(entry -> entry.song().getKey());
+
+    private final NavigableSet<Entry> ranking;
+    private final Map<Song, Entry> entriesBySong;
+
+    public TopSongsChart() {
+        ranking = new ConcurrentSkipListSet<>(MOST_STREAMED_FIRST);
+        entriesBySong = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Adds a Song to the Chart with its current Streams Count
+     *
+     * @param song the Song to be added
+     */
+    public void add(Song song) {
+        entriesBySong.compute(song, (key, oldEntry) -> replace(oldEntry, song));
+    }
+
+    /**
+     * Moves a Song to the Position matching its current Streams Count<br>
+     * Songs that are not in the Chart are ignored
+     *
+     * @param song the Song whose Streams Count has changed
+     */
+    public void update(Song song) {
+        entriesBySong.computeIfPresent(song, (key, oldEntry) -> replace(oldEntry, song));
+    }
+
+    /**
+     * Removes a Song from the Chart
+     *
+     * @param song the Song to be removed
+     */
+    public void remove(Song song) {
+        entriesBySong.computeIfPresent(song, (key, oldEntry) -> {
+            ranking.remove(oldEntry);
+            return null;
+        });
+    }
+
+    /**
+     * Returns the top {@code limit} Songs sorted by their Streams Count
+     *
+     * @param limit the maximum Number of Songs to be returned
+     * @return a List of at most {@code limit} Songs, the most streamed first
+     */
+    public List<Song> getTop(int limit) {
+        List<Song> top = new ArrayList<>(Math.max(0, Math.min(limit, entriesBySong.size())));
+
+        for (Entry entry : ranking) {
+            if (top.size() >= limit) {
+                break;
+            }
+
+            top.add(entry.song());
+        }
+
+        return top;
+    }
+
+    public int size() {
+        return entriesBySong.size();
+    }
+
+    private Entry replace(Entry oldEntry, Song song) {
+        if (oldEntry != null) {
+            ranking.remove(oldEntry);
+        }
+
+        Entry newEntry = new Entry(song.getStreams(), song);
+        ranking.add(newEntry);
+
+        return newEntry;
+    }
+
+    private record Entry(int streams, Song song) {
+    }
+}
@@ -0,0 +1,282 @@
+package spotify.database.song.counter;
+
+import spotify.database.song.Song;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A binary File that saves the Streams Count of every Song
+ * <p>
+ * The File starts with a Header (Magic Number and Number of Slots) followed by fixed-width Slots.
+ * Every Song gets its own Slot, which is its Id in the File. A Slot contains a 64-bit Fingerprint
+ * of the Song's Key and the Song's Streams Count.
+ * </p>
+ * <p>
+ * The File is memory-mapped, so updating a Counter is a single Write to Memory.
+ * The Changes are forced to the Disk asynchronously every {@code FLUSH_INTERVAL_SECONDS} and on close
+ * </p>
+ * <p>
+ * The File is created once the first Song is streamed. On Start all Counters are restored in 1 sequential Read
+ * </p>
+ */
+public class StreamsCounterStore implements AutoCloseable {
+    private static final int MAGIC = 0x53545231; // "STR1"
+    private static final int HEADER_SIZE = Integer.BYTES * 2;
+    private static final int SLOT_COUNT_OFFSET = Integer.BYTES;
+    private static final int SLOT_SIZE = Long.BYTES + Integer.BYTES;
+    private static final int STREAMS_OFFSET = Long.BYTES;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final long FLUSH_INTERVAL_SECONDS = 1;
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final Path file;
+
+    private final Map<Long, Integer> restoredSlotsByFingerprint;
+    private final Map<Song, Integer> slotsBySong;
+    private long[] fingerprintsBySlot;
+    private int slotCount;
+
+    private FileChannel channel;
+    private MappedByteBuffer mappedFile;
+    private int mappedCapacity;
+    private boolean dirty;
+    private boolean closed;
+
+    private ScheduledExecutorService flusher;
+
+    public StreamsCounterStore(Path file) {
+        this.file = file;
+
+        restoredSlotsByFingerprint = new HashMap<>();
+        slotsBySong = new ConcurrentHashMap<>();
+        fingerprintsBySlot = new long[INITIAL_CAPACITY];
+
+        restore();
+    }
+
+    /**
+     * Assigns a Slot to {@code song}. If the Song had a Slot before the Restart, its Streams Count is restored
+     *
+     * @param song the Song to be registered
+     */
+    public synchronized void register(Song song) {
+        if (slotsBySong.containsKey(song)) {
+            return;
+        }
+
+        long fingerprint = fingerprintOf(song.getKey());
+        Integer slot = restoredSlotsByFingerprint.remove(fingerprint);
+
+        if (slot != null) {
+            song.setStreams(mappedFile.getInt(getSlotOffset(slot) + STREAMS_OFFSET));
+        } else {
+            slot = allocateSlot(fingerprint);
+        }
+
+        slotsBySong.put(song, slot);
+    }
+
+    /**
+     * Saves the current Streams Count of {@code song}. Songs that are not registered are ignored
+     *
+     * @param song the streamed Song
+     */
+    public void update(Song song) {
+        Integer slot = slotsBySong.get(song);
+        if (slot == null) {
+            return;
+        }
+
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+
+            try {
+                ensureMapped(slot);
+            } catch (IOException e) {
+                System.out.println("The Streams File could not be opened");
+                return;
+            }
+
+            mappedFile.putInt(getSlotOffset(slot) + STREAMS_OFFSET, song.getStreams());
+            dirty = true;
+        }
+    }
+
+    /**
+     * Forces all Changes to the Disk and closes the File
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+        if (flusher != null) {
+            flusher.shutdown();
+        }
+
+        flush();
+
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+        } catch (IOException e) {
+            System.out.println("The Streams File could not be closed");
+        }
+    }
+
+    private synchronized void flush() {
+        if (!dirty) {
+            return;
+        }
+
+        mappedFile.force();
+        dirty = false;
+    }
+
+    private void restore() {
+        if (!Files.exists(file)) {
+            return;
+        }
+
+        int fileCapacity;
+        try {
+            openChannel();
+            fileCapacity = (int) Math.max(0, (channel.size() - HEADER_SIZE) / SLOT_SIZE);
+            map(Math.max(INITIAL_CAPACITY, fileCapacity));
+        } catch (IOException e) {
+            System.out.println("The Streams File could not be read");
+            return;
+        }
+
+        int restoredSlots = mappedFile.getInt(SLOT_COUNT_OFFSET);
+        if (mappedFile.getInt(0) != MAGIC || restoredSlots < 0 || restoredSlots > fileCapacity) {
+            System.out.println("The Streams File is invalid and is ignored");
+            mappedFile.putInt(0, MAGIC);
+            mappedFile.putInt(SLOT_COUNT_OFFSET, 0);
+            return;
+        }
+
+        for (int slot = 0; slot < restoredSlots; ++slot) {
+            long fingerprint = mappedFile.getLong(getSlotOffset(slot));
+
+            restoredSlotsByFingerprint.put(fingerprint, slot);
+            storeFingerprint(slot, fingerprint);
+        }
+        slotCount = restoredSlots;
+    }
+
+    private int allocateSlot(long fingerprint) {
+        int slot = slotCount++;
+        storeFingerprint(slot, fingerprint);
+
+        if (mappedFile != null) {
+            try {
+                ensureMapped(slot);
+            } catch (IOException e) {
+                System.out.println("The Streams File could not be extended");
+                return slot;
+            }
+
+            mappedFile.putLong(getSlotOffset(slot), fingerprint);
+            mappedFile.putInt(SLOT_COUNT_OFFSET, slotCount);
+            dirty = true;
+        }
+
+        return slot;
+    }
+
+    private void storeFingerprint(int slot, long fingerprint) {
+        if (slot >= fingerprintsBySlot.length) {
+            fingerprintsBySlot = Arrays.copyOf(fingerprintsBySlot, Math.max(slot + 1, fingerprintsBySlot.length * 2));
+        }
+
+        fingerprintsBySlot[slot] = fingerprint;
+    }
+
+    /**
+     * Maps the File so that {@code slot} fits in it. When the File is mapped for the first Time,
+     * the Header and the Fingerprints of all Slots assigned so far are written to it
+     */
+    private void ensureMapped(int slot) throws IOException {
+        if (mappedFile != null && slot < mappedCapacity) {
+            return;
+        }
+
+        boolean isNew = mappedFile == null;
+
+        if (isNew) {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            openChannel();
+        }
+
+        map(Math.max(Math.max(INITIAL_CAPACITY, mappedCapacity * 2), slotCount));
+
+        if (isNew) {
+            mappedFile.putInt(0, MAGIC);
+            for (int i = 0; i < slotCount; ++i) {
+                mappedFile.putLong(getSlotOffset(i), fingerprintsBySlot[i]);
+            }
+            mappedFile.putInt(SLOT_COUNT_OFFSET, slotCount);
+            dirty = true;
+        }
+    }
+
+    private void openChannel() throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Streams Counter Flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, FLUSH_INTERVAL_SECONDS, FLUSH_INTERVAL_SECONDS,
+            TimeUnit.SECONDS);
+    }
+
+    private void map(int capacity) throws IOException {
+        if (mappedFile != null) {
+            mappedFile.force();
+        }
+
+        mappedFile = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) capacity * SLOT_SIZE);
+        mappedCapacity = capacity;
+    }
+
+    private static int getSlotOffset(int slot) {
+        return HEADER_SIZE + slot * SLOT_SIZE;
+    }
+
+    /**
+     * Computes a 64-bit FNV-1a Hash of the Song's Key
+     */
+    private static long fingerprintOf(String key) {
+        long hash = FNV_OFFSET_BASIS;
+
+        for (int i = 0; i < key.length(); ++i) {
+            hash ^= key.charAt(i);
+            hash *= FNV_PRIME;
+        }
+
+        return hash;
+    }
+}
@@ -6,14 +6,17 @@ import javax.sound.sampled.SourceDataLine;
 import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.net.Socket;
+import java.nio.charset.StandardCharsets;
 
 public class SongListener implements Runnable {
     int port;
+    String streamToken;
     SourceDataLine dataLine;
     SpotifyClient spotifyClient;
 
-    public SongListener(int port, SourceDataLine dataLine, SpotifyClient spotifyClient) {
+    public SongListener(int port, String streamToken, SourceDataLine dataLine, SpotifyClient spotifyClient) {
         this.port = port;
+        this.streamToken = streamToken;
         this.dataLine = dataLine;
         this.spotifyClient = spotifyClient;
     }
@@ -22,6 +25,8 @@ public class SongListener implements Runnable {
     public void run() {
         try (Socket socket = new Socket("localhost", port);
              BufferedInputStream bufferedInputStream = new BufferedInputStream(socket.getInputStream())) {
+            socket.getOutputStream().write(streamToken.getBytes(StandardCharsets.US_ASCII));
+            socket.getOutputStream().flush();
 
             byte[] toWrite = new byte[dataLine.getFormat().getFrameSize()];
             dataLine.start();
@@ -0,0 +1,146 @@
+package spotify.database.song.registry;
+
+import spotify.database.song.Song;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The Registry of all Songs in the Database, indexed by their Keys and by the Names of their Song Files
+ * <p>
+ * Lookups go to {@code ConcurrentHashMap} Indexes. Iterating all Songs goes through an immutable Snapshot Array,
+ * so a Caller never sees a half-updated Registry and never blocks a Writer (and the other Way around).
+ * </p>
+ * <p>
+ * The Snapshot is not copied on every Write, which would make adding N Songs O(N^2).
+ * Every Write increments the Version of the Registry instead, and the first Reader that finds the Snapshot outdated
+ * builds a new one from the Index and publishes it with a Compare-And-Set. No Operation takes a Lock
+ * </p>
+ */
+public class SongRegistry {
+    private final Map<String, Song> songsByKey;
+    private final Map<String, Song> songsByFileName;
+
+    private final AtomicLong version;
+    private final AtomicReference<Snapshot> snapshot;
+
+    public SongRegistry() {
+        songsByKey = new ConcurrentHashMap<>();
+        songsByFileName = new ConcurrentHashMap<>();
+
+        version = new AtomicLong();
+        snapshot = new AtomicReference<>(new Snapshot(0, new Song[0]));
+    }
+
+    /**
+     * Adds a Song, if there is no Song with the same Key yet
+     *
+     * @param song the Song to be added
+     * @return true if the Song was added
+     */
+    public boolean add(Song song) {
+        if (songsByKey.putIfAbsent(song.getKey(), song) != null) {
+            return false;
+        }
+
+        if (!song.getFileName().isEmpty()) {
+            songsByFileName.put(song.getFileName(), song);
+        }
+
+        version.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Removes exactly this Song Instance
+     *
+     * @param song the Song to be removed, may be null
+     * @return true if the Song was removed
+     */
+    public boolean remove(Song song) {
+        if (song == null || !removeInstance(songsByKey, song.getKey(), song)) {
+            return false;
+        }
+
+        removeInstance(songsByFileName, song.getFileName(), song);
+
+        version.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * @param key the normalized Key of the Song, see {@code Song.keyOf}
+     * @return the Song with that Key or null
+     */
+    public Song get(String key) {
+        return songsByKey.get(key);
+    }
+
+    /**
+     * @param fileName the Name of a Song File
+     * @return the Song read from that File or null
+     */
+    public Song getByFileName(String fileName) {
+        return songsByFileName.get(fileName);
+    }
+
+    /**
+     * @return a Copy of the Names of the Song Files of all Songs
+     */
+    public List<String> getFileNames() {
+        return List.copyOf(songsByFileName.keySet());
+    }
+
+    public boolean contains(Song song) {
+        return songsByKey.containsKey(song.getKey());
+    }
+
+    public int size() {
+        return songsByKey.size();
+    }
+
+    /**
+     * @return an unmodifiable Snapshot of all Songs, which does not change when Songs are added or removed later
+     */
+    public List<Song> getAll() {
+        Snapshot current = snapshot.get();
+        long currentVersion = version.get();
+
+        if (current.version() == currentVersion) {
+            return current.asList();
+        }
+
+        Snapshot rebuilt = new Snapshot(currentVersion, songsByKey.values().toArray(new Song[0]));
+        snapshot.compareAndSet(current, rebuilt);
+
+        return rebuilt.asList();
+    }
+
+    /**
+     * Songs are equal by their Keys, so {@code Map.remove(key, value)} would also remove another Instance of the Song
+     */
+    private static boolean removeInstance(Map<String, Song> songs, String key, Song song) {
+        boolean[] removed = new boolean[1];
+
+        songs.computeIfPresent(key, (ignored, current) -> {
+            removed[0] = current == song;
+            return removed[0] ? null : current;
+        });
+
+        return removed[0];
+    }
+
+    /**
+     * The Songs of the Registry at a given Version. The Songs Array is never modified after it is published
+     */
+    private record Snapshot(long version, Song[] songs) {
+        private List<Song> asList() {
+            return Collections.unmodifiableList(Arrays.asList(songs));
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package spotify.database.song.scanner;
+
+import spotify.database.song.Song;
+
+import java.util.Collection;
+
+/**
+ * Receives the Changes of the Song Files in a watched Songs Folder
+ */
+public interface SongFolderListener {
+    /**
+     * Called when a Song File has been added or modified
+     *
+     * @param fileName the Name of the Song File
+     * @param song     the Song read from the File
+     */
+    void onSongFileChanged(String fileName, Song song);
+
+    /**
+     * Called when a Song File has been deleted or is no longer a valid Song
+     *
+     * @param fileName the Name of the Song File
+     */
+    void onSongFileRemoved(String fileName);
+
+    /**
+     * Used when Events were lost, to find the Song Files that have been deleted meanwhile
+     *
+     * @return the Names of the Song Files the Listener currently has Songs from
+     */
+    Collection<String> getSongFileNames();
+}
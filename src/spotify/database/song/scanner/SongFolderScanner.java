@@ -0,0 +1,185 @@
+package spotify.database.song.scanner;
+
+import spotify.database.song.Song;
+import spotify.database.song.catalog.SongCatalog;
+import spotify.database.song.exceptions.SongNotFoundException;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Reads all Songs from a Songs Folder in Parallel
+ * <p>
+ * The Scan has 2 Phases. First the Folder is listed, then the Headers of the Song Files are read
+ * by {@code ioConcurrency} Threads at once. Every Thread takes the next File that has not been taken yet,
+ * so a slow File does not hold back the others, and hands each read Song to the Song Consumer,
+ * which must therefore be Thread Safe.
+ * </p>
+ * <p>
+ * If the Scan is given the {@code SongCatalog} of the previous Start, the Header of a Song File is read only
+ * if the File has changed since. Every scanned Song File is added to the Catalog.
+ * </p>
+ * <p>
+ * The Progress is printed every {@code PROGRESS_INTERVAL_MILLIS} while the Headers are read
+ * and the Time of every Phase is printed at the End
+ * </p>
+ */
+public class SongFolderScanner {
+    public static final String WAV_GLOB = "*.wav";
+
+    private static final long PROGRESS_INTERVAL_MILLIS = 1_000;
+
+    private final String songsFolder;
+    private final int ioConcurrency;
+
+    /**
+     * @param songsFolder   the Folder the Songs are read from
+     * @param ioConcurrency the maximum Number of Song Files read at the same Time
+     */
+    public SongFolderScanner(String songsFolder, int ioConcurrency) {
+        this.songsFolder = songsFolder;
+        this.ioConcurrency = Math.max(1, ioConcurrency);
+    }
+
+    /**
+     * Reads all Songs from the Songs Folder<br>
+     * Files that are not valid Songs are skipped
+     *
+     * @param songConsumer the Thread Safe Consumer of the read Songs
+     * @return the Statistics of the Scan
+     * @throws IOException if the Songs Folder could not be listed
+     */
+    public ScanResult scan(Consumer<Song> songConsumer) throws IOException {
+        return scan(null, songConsumer);
+    }
+
+    /**
+     * Reads all Songs from the Songs Folder, reusing the Songs of the unchanged Song Files from the Catalog<br>
+     * Files that are not valid Songs are skipped
+     *
+     * @param catalog      the Catalog of the previous Start, null reads every Song File
+     * @param songConsumer the Thread Safe Consumer of the read Songs
+     * @return the Statistics of the Scan
+     * @throws IOException if the Songs Folder could not be listed
+     */
+    public ScanResult scan(SongCatalog catalog, Consumer<Song> songConsumer) throws IOException {
+        long start = System.nanoTime();
+        List<Path> files = list();
+        long listed = System.nanoTime();
+
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger done = new AtomicInteger();
+        AtomicInteger songs = new AtomicInteger();
+        AtomicInteger probed = new AtomicInteger();
+
+        int threadsCount = Math.min(ioConcurrency, files.size());
+        CountDownLatch finished = new CountDownLatch(threadsCount);
+
+        for (int i = 0; i < threadsCount; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    int index;
+                    while ((index = next.getAndIncrement()) < files.size()) {
+                        if (read(files.get(index), catalog, probed, songConsumer)) {
+                            songs.incrementAndGet();
+                        }
+                        done.incrementAndGet();
+                    }
+                } finally {
+                    finished.countDown();
+                }
+            }, "Song Folder Scanner " + i);
+
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        awaitWithProgress(finished, done, files.size());
+        long read = System.nanoTime();
+
+        ScanResult result = new ScanResult(files.size(), songs.get(), probed.get(),
+            TimeUnit.NANOSECONDS.toMillis(listed - start), TimeUnit.NANOSECONDS.toMillis(read - listed));
+        System.out.println(result);
+
+        return result;
+    }
+
+    private List<Path> list() throws IOException {
+        List<Path> files = new ArrayList<>();
+
+        try (DirectoryStream<Path> directoryStream = Files.newDirectoryStream(Path.of(songsFolder), WAV_GLOB)) {
+            directoryStream.forEach(files::add);
+        }
+
+        return files;
+    }
+
+    /**
+     * @return true if the File is a Song, false if it is a Directory or it is skipped
+     */
+    private boolean read(Path filePath, SongCatalog catalog, AtomicInteger probed, Consumer<Song> songConsumer) {
+        String fileName = filePath.getFileName().toString();
+
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(filePath, BasicFileAttributes.class);
+            if (attributes.isDirectory()) {
+                return false;
+            }
+
+            long size = attributes.size();
+            long lastModified = attributes.lastModifiedTime().toMillis();
+
+            Song song = catalog == null ? null : catalog.get(fileName, size, lastModified);
+            if (song == null) {
+                probed.incrementAndGet();
+                song = Song.of(songsFolder, fileName);
+            }
+
+            if (catalog != null) {
+                catalog.put(fileName, size, lastModified, song);
+            }
+            songConsumer.accept(song);
+
+            return true;
+        } catch (SongNotFoundException | IOException e) {
+            System.out.println("The Song File: " + fileName + " is skipped");
+            return false;
+        }
+    }
+
+    private static void awaitWithProgress(CountDownLatch finished, AtomicInteger done, int total) {
+        try {
+            while (!finished.await(PROGRESS_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+                System.out.println("Read " + done.get() + "/" + total + " Song Files");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * The Statistics of a Scan
+     *
+     * @param files      the Number of listed Song Files
+     * @param songs      the Number of Song Files that were read successfully
+     * @param probed     the Number of Song Files whose Header was read, the others were taken from the Catalog
+     * @param listMillis the Time it took to list the Songs Folder
+     * @param readMillis the Time it took to read the Headers of all Song Files
+     */
+    public record ScanResult(int files, int songs, int probed, long listMillis, long readMillis) {
+        @Override
+        public String toString() {
+            return "Read " + songs + " Songs from " + files + " Song Files (" + probed + " probed) in " +
+                   (listMillis + readMillis) + " ms (listing: " + listMillis + " ms, reading: " + readMillis + " ms)";
+        }
+    }
+}
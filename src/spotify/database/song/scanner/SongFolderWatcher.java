@@ -0,0 +1,199 @@
+package spotify.database.song.scanner;
+
+import spotify.database.song.Song;
+import spotify.database.song.exceptions.SongNotFoundException;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches a Songs Folder for added, deleted and modified Song Files while the Server is running
+ * <p>
+ * A Song File usually changes several Times while it is copied, so the Events are debounced:
+ * after the first Event the Watcher waits until no Event has come for {@code DEBOUNCE_MILLIS}
+ * (but no longer than {@code MAX_BATCH_DELAY_MILLIS}) and handles all changed Files as one Batch.
+ * The Headers of the Files in a Batch are read in Parallel by {@code ioConcurrency} Daemon Threads,
+ * and the next Batch is started only after the previous one is done, so the Changes of a File are applied in Order.
+ * </p>
+ * <p>
+ * If the Operating System has lost Events, every Song File in the Folder is read again
+ * and every Song File the Listener knows that is no longer in the Folder is removed
+ * </p>
+ */
+public class SongFolderWatcher implements AutoCloseable {
+    private static final long DEBOUNCE_MILLIS = 200;
+    private static final long MAX_BATCH_DELAY_MILLIS = 2_000;
+
+    private final String songsFolder;
+    private final SongFolderListener listener;
+    private final WatchService watchService;
+    private final ExecutorService readers;
+    private final Thread watcherThread;
+
+    /**
+     * @param songsFolder   the watched Songs Folder
+     * @param ioConcurrency the maximum Number of Song Files read at the same Time
+     * @param listener      the Listener that applies the Changes, it must be Thread Safe
+     * @throws IOException if the Songs Folder can not be watched
+     */
+    public SongFolderWatcher(String songsFolder, int ioConcurrency, SongFolderListener listener)
+        throws IOException {
+        this.songsFolder = songsFolder;
+        this.listener = listener;
+
+        watchService = FileSystems.getDefault().newWatchService();
+        try {
+            Path.of(songsFolder).toAbsolutePath().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            watchService.close();
+            throw e;
+        }
+
+        readers = Executors.newFixedThreadPool(Math.max(1, ioConcurrency), runnable -> {
+            Thread thread = new Thread(runnable, "Song Folder Reader");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        watcherThread = new Thread(this::run, "Song Folder Watcher");
+        watcherThread.setDaemon(true);
+    }
+
+    /**
+     * Starts watching the Songs Folder
+     */
+    public void start() {
+        watcherThread.start();
+    }
+
+    /**
+     * Stops watching the Songs Folder. The Changes that have not been applied yet are dropped
+     */
+    @Override
+    public void close() {
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            System.out.println("The Songs Folder Watcher could not be stopped");
+        }
+
+        readers.shutdownNow();
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                Set<String> changedFiles = new LinkedHashSet<>();
+                boolean overflow = collect(watchService.take(), changedFiles);
+
+                long deadline = System.currentTimeMillis() + MAX_BATCH_DELAY_MILLIS;
+                WatchKey key;
+                while (System.currentTimeMillis() < deadline &&
+                       (key = watchService.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    overflow |= collect(key, changedFiles);
+                }
+
+                if (overflow) {
+                    System.out.println("Song Folder Events were lost, all Song Files are read again");
+                    changedFiles.addAll(getAllSongFiles());
+                }
+
+                apply(changedFiles);
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            // The Watcher has been stopped
+        }
+    }
+
+    /**
+     * Adds the Names of the changed Song Files of {@code key} to {@code changedFiles}
+     *
+     * @return true if Events were lost
+     */
+    private static boolean collect(WatchKey key, Set<String> changedFiles) {
+        boolean overflow = false;
+
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                overflow = true;
+                continue;
+            }
+
+            String fileName = event.context().toString();
+            if (fileName.endsWith(Song.WAV)) {
+                changedFiles.add(fileName);
+            }
+        }
+
+        key.reset();
+        return overflow;
+    }
+
+    private void apply(Set<String> changedFiles) throws InterruptedException {
+        List<Callable<Void>> tasks = new ArrayList<>(changedFiles.size());
+
+        for (String fileName : changedFiles) {
+            tasks.add(() -> {
+                read(fileName);
+                return null;
+            });
+        }
+
+        readers.invokeAll(tasks);
+        System.out.println("Updated " + changedFiles.size() + " Song Files");
+    }
+
+    private void read(String fileName) {
+        if (!Files.isRegularFile(Path.of(songsFolder + fileName))) {
+            listener.onSongFileRemoved(fileName);
+            return;
+        }
+
+        try {
+            listener.onSongFileChanged(fileName, Song.of(songsFolder, fileName));
+        } catch (SongNotFoundException e) {
+            System.out.println("The Song File: " + fileName + " is skipped");
+            listener.onSongFileRemoved(fileName);
+        }
+    }
+
+    /**
+     * @return the Song Files in the Folder and the Song Files the Listener knows, which may have been deleted
+     */
+    Set<String> getAllSongFiles() {
+        Set<String> fileNames = new LinkedHashSet<>(listSongFiles());
+        fileNames.addAll(listener.getSongFileNames());
+
+        return fileNames;
+    }
+
+    private List<String> listSongFiles() {
+        List<String> fileNames = new ArrayList<>();
+
+        try (DirectoryStream<Path> directoryStream =
+                 Files.newDirectoryStream(Path.of(songsFolder), SongFolderScanner.WAV_GLOB)) {
+            directoryStream.forEach(file -> fileNames.add(file.getFileName().toString()));
+        } catch (IOException e) {
+            System.out.println("The Songs Folder could not be opened");
+        }
+
+        return fileNames;
+    }
+}
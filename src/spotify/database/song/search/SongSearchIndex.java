@@ -0,0 +1,139 @@
+package spotify.database.song.search;
+
+import spotify.database.song.Song;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * An inverted Index over the Song Names and the Singer Names of Songs
+ * <p>
+ * Every lower-cased Name is split into all of its Grams (Substrings) with Length from 1 to {@code GRAM_LENGTH}.
+ * Each Gram points to the Set of Songs that contain it (its Posting List).
+ * </p>
+ * <p>
+ * A Filter that is not longer than {@code GRAM_LENGTH} is itself a Gram, so its Posting List is the exact Answer.
+ * A longer Filter is answered by taking the shortest Posting List among its Grams and
+ * checking only those Songs, so a Search does not go through the whole Catalog.
+ * </p>
+ * <p>
+ * The Index is Thread Safe. Songs can be added and removed while Searches are running
+ * </p>
+ */
+public class SongSearchIndex {
+    private static final int GRAM_LENGTH = 3;
+
+    private final Set<Song> songs;
+    private final Map<String, Set<Song>> postings;
+
+    public SongSearchIndex() {
+        songs = ConcurrentHashMap.newKeySet();
+        postings = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Adds a Song to the Index
+     *
+     * @param song the Song to be added
+     */
+    public void add(Song song) {
+        if (!songs.add(song)) {
+            return;
+        }
+
+        forEachGram(song.getSongNameLowerCase(), gram -> addPosting(gram, song));
+        forEachGram(song.getSingerNameLowerCase(), gram -> addPosting(gram, song));
+    }
+
+    /**
+     * Removes a Song from the Index
+     *
+     * @param song the Song to be removed
+     */
+    public void remove(Song song) {
+        if (!songs.remove(song)) {
+            return;
+        }
+
+        forEachGram(song.getSongNameLowerCase(), gram -> removePosting(gram, song));
+        forEachGram(song.getSingerNameLowerCase(), gram -> removePosting(gram, song));
+    }
+
+    /**
+     * Searches for the Songs that match at least 1 of the {@code filters}<br>
+     * The Result is the Union of the Results of every Filter
+     *
+     * @param filters the Filters
+     * @return all Songs whose Name or Singer Name contains at least 1 of the {@code filters} despite Cases
+     */
+    public Collection<Song> search(String... filters) {
+        Set<Song> result = new HashSet<>();
+
+        for (String filter : filters) {
+            String filterLowerCase = filter.toLowerCase(Locale.ROOT);
+
+            if (filterLowerCase.isEmpty()) {
+                return Set.copyOf(songs);
+            }
+
+            if (filterLowerCase.length() <= GRAM_LENGTH) {
+                result.addAll(postings.getOrDefault(filterLowerCase, Set.of()));
+                continue;
+            }
+
+            for (Song candidate : getShortestPosting(filterLowerCase)) {
+                if (candidate.doesLowerCaseFilterApply(filterLowerCase)) {
+                    result.add(candidate);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    private Set<Song> getShortestPosting(String filterLowerCase) {
+        Set<Song> shortest = null;
+
+        for (int i = 0; i + GRAM_LENGTH <= filterLowerCase.length(); ++i) {
+            Set<Song> posting = postings.get(filterLowerCase.substring(i, i + GRAM_LENGTH));
+
+            if (posting == null) {
+                return Set.of();
+            }
+
+            if (shortest == null || posting.size() < shortest.size()) {
+                shortest = posting;
+            }
+        }
+
+        return shortest;
+    }
+
+    private void addPosting(String gram, Song song) {
+        postings.compute(gram, (key, posting) -> {
+            Set<Song> toReturn = posting == null ? ConcurrentHashMap.newKeySet() : posting;
+            toReturn.add(song);
+            return toReturn;
+        });
+    }
+
+    private void removePosting(String gram, Song song) {
+        postings.computeIfPresent(gram, (key, posting) -> {
+            posting.remove(song);
+            return posting.isEmpty() ? null : posting;
+        });
+    }
+
+    private static void forEachGram(String str, Consumer<String> consumer) {
+        for (int start = 0; start < str.length(); ++start) {
+            for (int end = start + 1; end <= Math.min(start + GRAM_LENGTH, str.length()); ++end) {
+                consumer.accept(str.substring(start, end));
+            }
+        }
+    }
+}
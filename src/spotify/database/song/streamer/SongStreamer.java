@@ -1,78 +1,682 @@
 package spotify.database.song.streamer;
 
 import spotify.database.song.Song;
+import spotify.database.song.cache.SongAudioCache;
+import spotify.database.song.cache.SongFileMappings;
+import spotify.database.user.User;
 import spotify.server.SpotifyServer;
+import spotify.server.exceptions.UserCurrentlyStreamingException;
+import spotify.server.metrics.StreamingMetrics;
 
-import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
 import java.io.IOException;
-import java.net.ServerSocket;
-import java.net.Socket;
-import java.net.SocketException;
-import java.nio.file.Files;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * A Thread that reads a Song from the File System and sends the read Info through
- * a blocking java.net Communication.<br>
- * The Thread has SpotifyServerStreaming Permission so that it can mark a specific Port as
- * "Currently Streaming" in the Server so that another SongStreamer is not started for the same Port.
+ * A Reactor that streams all Songs from a single Thread and a single Streaming Port
+ * through non-blocking java.nio Communications
  *
  * <p>
- * If the Song is stopped from the other side of the java.net Communication
- * (the Thread on the other Side stops, which would trigger a {@code SocketException} in this Thread)
- * or when the Song Reading Stream on this side ends,
- * the Port is marked as free a SongStreamer can be started again for that Port
+ * Starting a Stream creates a one-time Token for it. The User's Song Listener connects to the Streaming Port
+ * and sends the Token (see {@code TOKEN_LENGTH}) as its first Bytes, which selects the Stream it receives.
+ * A Token that is not used within {@code TOKEN_TIMEOUT_MILLIS} expires.
+ * The User is marked as "Currently Streaming" in the Server so that the User can not start another Stream
+ * until the current one ends.
  * </p>
  *
  * <p>
- * When the Song ends/is stopped its Streams Counter is incremented
+ * Each Stream remembers its own Position in the Song File, starting at the Offset it was requested from,
+ * and whenever its Socket is writable, the next Part of the File is sent with {@code FileChannel.transferTo}. The Bytes are copied from the File System Cache
+ * to the Socket by the Operating System without passing through the Java Heap.
  * </p>
  *
  * <p>
- * This Thread should be marked as a Daemon Thread before it is started so that it doesn't
- * stall the Program if it ends while this Thread is Running
+ * If the Song is stopped from the other side of the java.nio Communication
+ * (the Thread on the other Side stops, which would trigger an {@code IOException} when writing),
+ * when the whole Song File has been sent or when the Token expires,
+ * the User is marked as not Streaming and can start a new Stream
+ * </p>
+ *
+ * <p>
+ * Songs that are in the {@code SongAudioCache} are sent from their shared off-heap Buffer instead of the File.
+ * Every other Song is sent from its File and handed to the Cache to be loaded in the Background.
+ * </p>
+ *
+ * <p>
+ * If the Song Streamer has {@code SongFileMappings}, Songs that are not cached are sent from a shared
+ * memory-mapped View of their File instead of opening a File Channel for every Stream
+ * </p>
+ *
+ * <p>
+ * If the Song Streamer has a {@code StreamPacer}, every Stream is sent at the Rate its Song is played
+ * instead of as fast as the Network allows. A Stream that is ahead of its Listener stops being written to
+ * until the Pacer lets it send its next Part, so a stopped Song is noticed within one Part.
+ * </p>
+ *
+ * <p>
+ * When the Song ends/is stopped after a Song Listener has connected, its Streams Counter is incremented
+ * </p>
+ *
+ * <p>
+ * Every Write is recorded in the {@code StreamingMetrics}: the Bytes sent, Writes that stalled on a full Socket,
+ * the Time from the Request to the first Byte and Underruns of Streams that fall behind their Song's Byte Rate.
+ * When a Stream ends, its Bytes, its effective Byte Rate against the one its Song needs and its Stalls are printed
+ * </p>
+ *
+ * <p>
+ * The Streaming Port is opened and the Reactor Thread is started with the first Stream.
+ * The Reactor Thread is a Daemon Thread, so that it doesn't
+ * stall the Program if it ends while Songs are streamed
  * </p>
  */
-public class SongStreamer implements Runnable {
-    private final int port;
-    private final Song song;
+public class SongStreamer implements AutoCloseable {
+    public static final int TOKEN_LENGTH = 32;
+
+    private static final long TOKEN_TIMEOUT_MILLIS = 30_000;
+    private static final long EXPIRY_CHECK_INTERVAL_MILLIS = 1_000;
+    private static final long MAX_TRANSFER_SIZE = 256 * 1024;
+    private static final long PACED_TRANSFERS_PER_SECOND = 50;
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
     private final SpotifyServer spotifyServer;
+    private final int port;
+    private final SongAudioCache audioCache;
+    private final SongFileMappings fileMappings;
+    private final StreamPacer pacer;
+    private final Map<String, Stream> streamsByToken;
+    private final SecureRandom random;
+    private final List<Stream> pausedStreams;
+    private final StreamingMetrics metrics;
 
-    public SongStreamer(int port, Song song, SpotifyServer spotifyServer) {
-        this.port = port;
-        this.song = song;
+    private Selector selector;
+    private ServerSocketChannel serverSocketChannel;
+    private Thread reactorThread;
+    private boolean closed;
+
+    /**
+     * Constructs a Song Streamer without an Audio Cache
+     *
+     * @param spotifyServer the Server whose Songs are streamed
+     * @param port          the Streaming Port, 0 picks any free Port
+     */
+    public SongStreamer(SpotifyServer spotifyServer, int port) {
+        this(spotifyServer, port, new SongAudioCache(0));
+    }
+
+    /**
+     * @param spotifyServer the Server whose Songs are streamed
+     * @param port          the Streaming Port, 0 picks any free Port
+     * @param audioCache    the Cache of frequently streamed Songs
+     */
+    public SongStreamer(SpotifyServer spotifyServer, int port, SongAudioCache audioCache) {
+        this(spotifyServer, port, audioCache, null, null);
+    }
+
+    /**
+     * @param spotifyServer the Server whose Songs are streamed
+     * @param port          the Streaming Port, 0 picks any free Port
+     * @param audioCache    the Cache of frequently streamed Songs
+     * @param fileMappings  the Mappings the Song Files are streamed from, null streams them with File Channels
+     * @param pacer         the Pacer of the Streams, null streams Songs as fast as the Network allows
+     */
+    public SongStreamer(SpotifyServer spotifyServer, int port, SongAudioCache audioCache,
+                        SongFileMappings fileMappings, StreamPacer pacer) {
         this.spotifyServer = spotifyServer;
+        this.port = port;
+        this.audioCache = audioCache;
+        this.fileMappings = fileMappings;
+        this.pacer = pacer;
+        this.pausedStreams = new ArrayList<>();
+        this.streamsByToken = new ConcurrentHashMap<>();
+        this.random = new SecureRandom();
+        this.metrics = new StreamingMetrics();
+    }
+
+    /**
+     * Prepares a Stream of {@code song} for {@code user}
+     *
+     * @param user the User that listens to the Song
+     * @param song the Song to be streamed
+     * @return the one-time Token the User's Song Listener must send after connecting to the Streaming Port
+     * @throws UserCurrentlyStreamingException if the User is already streaming a Song
+     * @throws IOException                     if the Streaming Port could not be opened
+     */
+    public String stream(User user, Song song) throws UserCurrentlyStreamingException, IOException {
+        return stream(user, song, 0);
+    }
+
+    /**
+     * Prepares a Stream of {@code song} for {@code user} that starts at {@code offset} in the Song File<br>
+     * Used to start a Song from the Middle or to resume a Stream that has been dropped
+     *
+     * @param user   the User that listens to the Song
+     * @param song   the Song to be streamed
+     * @param offset the Position in the Song File the Stream starts from, see {@code Song.getOffsetOf}
+     * @return the one-time Token the User's Song Listener must send after connecting to the Streaming Port
+     * @throws UserCurrentlyStreamingException if the User is already streaming a Song
+     * @throws IOException                     if the Streaming Port could not be opened
+     */
+    public String stream(User user, Song song, long offset) throws UserCurrentlyStreamingException, IOException {
+        spotifyServer.getUserService().lockStreaming(user);
+        String token = newToken();
+
+        try {
+            synchronized (this) {
+                if (closed) {
+                    throw new IOException("The Song Streamer has been stopped");
+                }
+
+                startReactorThread();
+                // Added under the Lock, so a concurrent close() either rejects the Stream
+                // or its Reactor Thread sees the Token and frees the User when it stops
+                streamsByToken.put(token,
+                    new Stream(user, song, offset, System.currentTimeMillis() + TOKEN_TIMEOUT_MILLIS));
+            }
+        } catch (IOException e) {
+            spotifyServer.getUserService().freeStreaming(user);
+            throw e;
+        }
+
+        return token;
+    }
+
+    /**
+     * @return the Port the Song Listeners must connect to
+     */
+    public synchronized int getPort() {
+        return serverSocketChannel == null ? port : serverSocketChannel.socket().getLocalPort();
+    }
+
+    /**
+     * @return the Number of Streams whose Song Listener has connected and that have not ended yet
+     */
+    public int getActiveStreamsCount() {
+        return metrics.getActiveStreams();
+    }
+
+    public StreamingMetrics getMetrics() {
+        return metrics;
     }
 
+    /**
+     * Stops all Streams, closes the Streaming Port and stops the Reactor Thread
+     */
     @Override
-    public void run() {
-        spotifyServer.getUserService().lockPort(port);
+    public void close() {
+        Thread toJoin;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+
+            closed = true;
+            toJoin = reactorThread;
+            if (selector != null) {
+                selector.wakeup();
+            }
+        }
+
+        if (toJoin != null) {
+            try {
+                toJoin.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void startReactorThread() throws IOException {
+        if (reactorThread != null) {
+            return;
+        }
 
-        try (ServerSocket serverSocket = new ServerSocket(port)) {
-            try (Socket socket = serverSocket.accept();
-                 BufferedOutputStream outputStream = new BufferedOutputStream(socket.getOutputStream());
-                 BufferedInputStream bufferedInputStream = new BufferedInputStream(Files.newInputStream(
-                     Path.of(spotifyServer.getDatabase().getSongsFolder() + song.getFileName())))) {
+        Selector newSelector = Selector.open();
+        ServerSocketChannel newServerSocketChannel = ServerSocketChannel.open();
+        try {
+            newServerSocketChannel.bind(new InetSocketAddress(port));
+            newServerSocketChannel.configureBlocking(false);
+            newServerSocketChannel.register(newSelector, SelectionKey.OP_ACCEPT);
+        } catch (IOException e) {
+            newServerSocketChannel.close();
+            newSelector.close();
+            throw e;
+        }
 
-                byte[] toWrite = new byte[song.getFrameSize()];
-                while (bufferedInputStream.available() > 0) {
-                    int readBytes = bufferedInputStream.read(toWrite, 0, toWrite.length);
+        selector = newSelector;
+        serverSocketChannel = newServerSocketChannel;
+
+        reactorThread = new Thread(this::run, "Song Streamer");
+        reactorThread.setDaemon(true);
+        reactorThread.start();
+    }
+
+    private void run() {
+        long nextExpiryCheck = System.currentTimeMillis() + EXPIRY_CHECK_INTERVAL_MILLIS;
+
+        try (Selector reactorSelector = selector; ServerSocketChannel streamingChannel = serverSocketChannel) {
+            while (!isClosed()) {
+                long nanosUntilResume = resumePausedStreams(System.nanoTime());
+                reactorSelector.select(getSelectTimeout(nanosUntilResume));
+
+                Iterator<SelectionKey> keyIterator = reactorSelector.selectedKeys().iterator();
+                while (keyIterator.hasNext()) {
+                    SelectionKey key = keyIterator.next();
+                    keyIterator.remove();
+
+                    if (key.isAcceptable()) {
+                        accept(streamingChannel, reactorSelector);
+                        continue;
+                    }
+
+                    try {
+                        if (key.isReadable()) {
+                            readToken(key);
+                        } else if (key.isWritable()) {
+                            transfer((Stream) key.attachment());
+                        }
+                    } catch (RuntimeException e) {
+                        // A single broken Stream must not stop the Streams of all other Users
+                        System.out.println("A Problem occurred while streaming Song");
+                        drop(key);
+                    }
+                }
+
+                long now = System.currentTimeMillis();
+                if (now >= nextExpiryCheck) {
+                    expire(reactorSelector, now);
+                    nextExpiryCheck = now + EXPIRY_CHECK_INTERVAL_MILLIS;
+                }
+            }
 
-                    outputStream.write(toWrite, 0, readBytes);
+            expire(reactorSelector, Long.MAX_VALUE);
+            reactorSelector.keys().forEach(key -> {
+                if (key.attachment() instanceof Stream stream) {
+                    finish(stream);
                 }
+            });
+        } catch (IOException | ClosedSelectorException e) {
+            System.out.println("The Song Streamer stopped unexpectedly");
+        }
+    }
+
+    private void drop(SelectionKey key) {
+        if (key.attachment() instanceof Stream stream) {
+            finish(stream);
+        } else {
+            closeQuietly(key.channel());
+        }
+    }
+
+    private synchronized boolean isClosed() {
+        return closed;
+    }
+
+    private void accept(ServerSocketChannel streamingChannel, Selector reactorSelector) throws IOException {
+        SocketChannel socketChannel;
+
+        while ((socketChannel = streamingChannel.accept()) != null) {
+            socketChannel.configureBlocking(false);
+            socketChannel.register(reactorSelector, SelectionKey.OP_READ,
+                new Handshake(System.currentTimeMillis() + TOKEN_TIMEOUT_MILLIS));
+        }
+    }
+
+    /**
+     * Reads the Token sent by a connected Song Listener and attaches the Stream it belongs to
+     */
+    private void readToken(SelectionKey key) {
+        Handshake handshake = (Handshake) key.attachment();
+        SocketChannel socketChannel = (SocketChannel) key.channel();
 
-                outputStream.flush();
-            } catch (SocketException ignored) {
-                //The User has Stopped The Song
+        try {
+            if (socketChannel.read(handshake.token) < 0) {
+                closeQuietly(key.channel());
+                return;
             }
+        } catch (IOException e) {
+            closeQuietly(key.channel());
+            return;
+        }
+
+        if (handshake.token.hasRemaining()) {
+            return;
+        }
+
+        Stream stream = streamsByToken.remove(new String(handshake.token.array(), StandardCharsets.US_ASCII));
+        if (stream == null) {
+            closeQuietly(key.channel());
+            return;
+        }
+
+        stream.socketChannel = socketChannel;
+        stream.key = key;
+        key.attach(stream);
+        stream.startNanos = System.nanoTime();
+        metrics.onStreamStarted(stream.bytesPerSecond);
+        try {
+            openSong(stream);
         } catch (IOException e) {
             System.out.println("A Problem occurred while streaming Song");
+            finish(stream);
+            return;
+        }
+
+        key.interestOps(SelectionKey.OP_WRITE);
+    }
+
+    private void openSong(Stream stream) throws IOException {
+        stream.audio = audioCache.get(stream.song);
+        if (stream.audio != null) {
+            startAt(stream, stream.audio.limit());
+            return;
         }
 
-        song.stream();
-        spotifyServer.getUserService().freePort(port);
+        Path songFile = Path.of(spotifyServer.getDatabase().getSongsFolder() + stream.song.getFileName());
+        audioCache.load(stream.song, songFile);
 
-        System.out.println("Song has ended");
+        if (fileMappings != null) {
+            stream.audio = fileMappings.acquire(stream.song, songFile);
+            if (stream.audio != null) {
+                stream.mapped = true;
+                startAt(stream, stream.audio.limit());
+                return;
+            }
+        }
+
+        stream.songChannel = FileChannel.open(songFile, StandardOpenOption.READ);
+        startAt(stream, stream.songChannel.size());
+    }
+
+    private static void startAt(Stream stream, long size) {
+        stream.size = size;
+        stream.position = Math.max(0, Math.min(stream.offset, size));
+
+        if (stream.audio != null) {
+            stream.audio.position((int) stream.position);
+        }
+    }
+
+    private void transfer(Stream stream) {
+        if (stream.position >= stream.size) {
+            finish(stream);
+            return;
+        }
+
+        long now = System.nanoTime();
+        long transferSize = Math.min(stream.size - stream.position, MAX_TRANSFER_SIZE);
+
+        boolean paced = isPaced(stream);
+        if (paced) {
+            transferSize = getPacedTransferSize(stream, transferSize, now);
+            if (transferSize == 0) {
+                pause(stream);
+                return;
+            }
+        }
+
+        long written;
+        try {
+            if (stream.audio != null) {
+                stream.audio.limit((int) (stream.position + transferSize));
+                written = stream.socketChannel.write(stream.audio);
+            } else {
+                written = stream.songChannel.transferTo(stream.position, transferSize, stream.socketChannel);
+            }
+        } catch (IOException ignored) {
+            //The User has Stopped The Song
+            finish(stream);
+            return;
+        }
+
+        stream.position += written;
+        stream.sent += written;
+        if (paced) {
+            pacer.refund(transferSize - written);
+        }
+        record(stream, transferSize, written, now);
+
+        if (stream.position >= stream.size) {
+            finish(stream);
+        }
+    }
+
+    private void record(Stream stream, long transferSize, long written, long now) {
+        metrics.onWrite(transferSize, written, now);
+        if (written < transferSize) {
+            ++stream.stalls;
+        }
+
+        if (stream.firstByteNanos == 0 && written > 0) {
+            stream.firstByteNanos = now;
+            metrics.recordTimeToFirstByte(now - stream.requestedNanos);
+            return;
+        }
+
+        if (stream.firstByteNanos == 0 || stream.bytesPerSecond <= 0) {
+            return;
+        }
+
+        boolean behind = stream.sent < (now - stream.firstByteNanos) / NANOS_PER_SECOND * stream.bytesPerSecond;
+        if (behind && !stream.underrun) {
+            metrics.onUnderrun();
+        }
+        stream.underrun = behind;
+    }
+
+    private boolean isPaced(Stream stream) {
+        return pacer != null && stream.bytesPerSecond > 0;
+    }
+
+    /**
+     * Finds how many Bytes a paced Stream may send now
+     *
+     * @return the Number of Bytes or 0 if the Stream must wait until its {@code resumeAtNanos}
+     */
+    private long getPacedTransferSize(Stream stream, long transferSize, long now) {
+        long minTransferSize = Math.min(transferSize,
+            Math.max(1, stream.bytesPerSecond / PACED_TRANSFERS_PER_SECOND));
+
+        long due = pacer.getDueBytes(stream.bytesPerSecond, now - stream.startNanos) - stream.sent;
+        if (due < minTransferSize) {
+            stream.resumeAtNanos =
+                stream.startNanos + pacer.getDueNanos(stream.bytesPerSecond, stream.sent + minTransferSize);
+            return 0;
+        }
+
+        long granted = pacer.take(Math.min(transferSize, due), now);
+        if (granted < minTransferSize) {
+            pacer.refund(granted);
+            stream.resumeAtNanos = now + pacer.getNanosUntilAvailable(minTransferSize, now);
+            return 0;
+        }
+
+        return granted;
+    }
+
+    private void pause(Stream stream) {
+        stream.key.interestOps(0);
+        pausedStreams.add(stream);
+    }
+
+    /**
+     * Lets the paused Streams whose Time has come be written to again
+     *
+     * @return the Time until the next paused Stream must be resumed, {@code Long.MAX_VALUE} if there is none
+     */
+    private long resumePausedStreams(long now) {
+        long nanosUntilResume = Long.MAX_VALUE;
+
+        Iterator<Stream> iterator = pausedStreams.iterator();
+        while (iterator.hasNext()) {
+            Stream stream = iterator.next();
+
+            if (stream.finished) {
+                iterator.remove();
+            } else if (stream.resumeAtNanos <= now) {
+                stream.key.interestOps(SelectionKey.OP_WRITE);
+                iterator.remove();
+            } else {
+                nanosUntilResume = Math.min(nanosUntilResume, stream.resumeAtNanos - now);
+            }
+        }
+
+        return nanosUntilResume;
+    }
+
+    private static long getSelectTimeout(long nanosUntilResume) {
+        long millisUntilResume = (nanosUntilResume + 999_999) / 1_000_000;
+
+        return Math.max(1, Math.min(EXPIRY_CHECK_INTERVAL_MILLIS, millisUntilResume));
+    }
+
+    /**
+     * Removes the Tokens that have not been used and closes the Connections that have not sent a Token in time
+     */
+    private void expire(Selector reactorSelector, long now) {
+        streamsByToken.entrySet().removeIf(entry -> {
+            if (entry.getValue().deadline > now) {
+                return false;
+            }
+
+            finish(entry.getValue());
+            return true;
+        });
+
+        for (SelectionKey key : reactorSelector.keys()) {
+            if (key.attachment() instanceof Handshake handshake && handshake.deadline <= now) {
+                closeQuietly(key.channel());
+            }
+        }
+    }
+
+    private void finish(Stream stream) {
+        if (stream.finished) {
+            return;
+        }
+        stream.finished = true;
+
+        closeQuietly(stream.socketChannel);
+        closeQuietly(stream.songChannel);
+        if (stream.mapped) {
+            fileMappings.release(stream.song);
+        }
+
+        if (stream.socketChannel != null) {
+            metrics.onStreamFinished(stream.bytesPerSecond);
+            stream.song.stream();
+            System.out.println("Song has ended: " + describe(stream, System.nanoTime()));
+        }
+        spotifyServer.getUserService().freeStreaming(stream.user);
+    }
+
+    /**
+     * Describes a finished Stream, for example:<br>
+     * 960000 Bytes in 10.01s at 95904 B/s (Song needs 96000 B/s), 2 Write Stalls, first Byte after 14.20ms
+     */
+    private static String describe(Stream stream, long now) {
+        StringBuilder description = new StringBuilder().append(stream.sent).append(" Bytes");
+
+        if (stream.firstByteNanos != 0) {
+            long duration = now - stream.firstByteNanos;
+            description.append(String.format(Locale.ROOT, " in %.2fs", duration / NANOS_PER_SECOND));
+            if (duration > 0) {
+                description.append(" at ").append((long) (stream.sent * NANOS_PER_SECOND / duration)).append(" B/s");
+            }
+        }
+
+        description.append(" (Song needs ").append(stream.bytesPerSecond).append(" B/s), ")
+            .append(stream.stalls).append(" Write Stalls");
+
+        if (stream.firstByteNanos != 0) {
+            description.append(String.format(Locale.ROOT, ", first Byte after %.2fms",
+                (stream.firstByteNanos - stream.requestedNanos) / NANOS_PER_MILLI));
+        }
+
+        return description.toString();
+    }
+
+    private String newToken() {
+        byte[] token = new byte[TOKEN_LENGTH / 2];
+        random.nextBytes(token);
+
+        return HexFormat.of().formatHex(token);
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        if (closeable == null) {
+            return;
+        }
+
+        try {
+            closeable.close();
+        } catch (Exception ignored) {
+            // The Stream has ended anyway
+        }
+    }
+
+    /**
+     * A Connection that has not sent its whole Token yet. Used only by the Reactor Thread
+     */
+    private static class Handshake {
+        private final ByteBuffer token = ByteBuffer.allocate(TOKEN_LENGTH);
+        private final long deadline;
+
+        private Handshake(long deadline) {
+            this.deadline = deadline;
+        }
+    }
+
+    /**
+     * The State of a single Stream. Used only by the Reactor Thread once its Token has been received
+     */
+    private static class Stream {
+        private final User user;
+        private final Song song;
+        private final long offset;
+        private final long deadline;
+        private final long bytesPerSecond;
+        private final long requestedNanos;
+
+        private SelectionKey key;
+        private SocketChannel socketChannel;
+        private FileChannel songChannel;
+        private ByteBuffer audio;
+        private boolean mapped;
+        private long position;
+        private long size;
+        private long sent;
+        private long startNanos;
+        private long resumeAtNanos;
+        private boolean finished;
+        private long firstByteNanos;
+        private long stalls;
+        private boolean underrun;
+
+        private Stream(User user, Song song, long offset, long deadline) {
+            this.user = user;
+            this.song = song;
+            this.offset = offset;
+            this.deadline = deadline;
+            this.bytesPerSecond = (long) (song.getFrameRate() * song.getFrameSize());
+            this.requestedNanos = System.nanoTime();
+        }
     }
 }
@@ -0,0 +1,112 @@
+package spotify.database.song.streamer;
+
+/**
+ * Paces the Streams of the {@code SongStreamer} at the Rate their Songs are played
+ * <p>
+ * A Stream may be ahead of the Listener by at most {@code leadMillis} of Audio. The Bytes a Stream is allowed
+ * to have sent grow with the Time since it started at the Song's Byte Rate (Frame Rate * Frame Size),
+ * so the Server sends only what is going to be listened to and a stopped Song stops costing Bandwidth.
+ * </p>
+ * <p>
+ * All Streams also share a Token Bucket that holds at most one Second of {@code maxBytesPerSecond},
+ * which caps the Bandwidth of the whole Server. A {@code maxBytesPerSecond} of 0 means no Cap.
+ * </p>
+ * <p>
+ * Used only by the Reactor Thread of the {@code SongStreamer}, so it is not Thread Safe
+ * </p>
+ */
+public class StreamPacer {
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private final long leadNanos;
+    private final long maxBytesPerSecond;
+
+    private double tokens;
+    private long lastRefillNanos;
+
+    /**
+     * @param leadMillis        how far ahead of the Listener a Stream may be
+     * @param maxBytesPerSecond the Bandwidth shared by all Streams, 0 for no Cap
+     */
+    public StreamPacer(long leadMillis, long maxBytesPerSecond) {
+        this.leadNanos = leadMillis * 1_000_000;
+        this.maxBytesPerSecond = maxBytesPerSecond;
+
+        tokens = maxBytesPerSecond;
+        lastRefillNanos = System.nanoTime();
+    }
+
+    /**
+     * @param bytesPerSecond the Byte Rate of the Song
+     * @param elapsedNanos   the Time since the Stream started
+     * @return the Number of Bytes the Stream is allowed to have sent
+     */
+    public long getDueBytes(long bytesPerSecond, long elapsedNanos) {
+        return (long) (bytesPerSecond * ((elapsedNanos + leadNanos) / NANOS_PER_SECOND));
+    }
+
+    /**
+     * @param bytesPerSecond the Byte Rate of the Song
+     * @param bytes          the Number of Bytes
+     * @return the Time since the Start of the Stream after which it is allowed to have sent {@code bytes}
+     */
+    public long getDueNanos(long bytesPerSecond, long bytes) {
+        return (long) Math.ceil(bytes * NANOS_PER_SECOND / bytesPerSecond) - leadNanos;
+    }
+
+    /**
+     * Takes up to {@code bytes} Tokens from the shared Bucket
+     *
+     * @param bytes     the Number of Bytes a Stream wants to send
+     * @param nowNanos  the current {@code System.nanoTime()}
+     * @return the Number of Bytes the Stream may send now
+     */
+    public long take(long bytes, long nowNanos) {
+        if (maxBytesPerSecond <= 0) {
+            return bytes;
+        }
+
+        refill(nowNanos);
+        long granted = Math.min(bytes, (long) tokens);
+        tokens -= granted;
+
+        return granted;
+    }
+
+    /**
+     * Returns Tokens that were taken but not used, e.g. when the Socket accepted fewer Bytes
+     *
+     * @param bytes the Number of unused Tokens
+     */
+    public void refund(long bytes) {
+        if (maxBytesPerSecond > 0 && bytes > 0) {
+            tokens = Math.min(maxBytesPerSecond, tokens + bytes);
+        }
+    }
+
+    /**
+     * @param bytes    the Number of Bytes a Stream wants to send
+     * @param nowNanos the current {@code System.nanoTime()}
+     * @return the Time until the shared Bucket holds {@code bytes} Tokens (or is full)
+     */
+    public long getNanosUntilAvailable(long bytes, long nowNanos) {
+        if (maxBytesPerSecond <= 0) {
+            return 0;
+        }
+
+        refill(nowNanos);
+        double missing = Math.min(bytes, maxBytesPerSecond) - tokens;
+
+        return missing <= 0 ? 0 : (long) Math.ceil(missing * NANOS_PER_SECOND / maxBytesPerSecond);
+    }
+
+    private void refill(long nowNanos) {
+        long elapsed = nowNanos - lastRefillNanos;
+        if (elapsed <= 0) {
+            return;
+        }
+
+        tokens = Math.min(maxBytesPerSecond, tokens + maxBytesPerSecond * (elapsed / NANOS_PER_SECOND));
+        lastRefillNanos = nowNanos;
+    }
+}
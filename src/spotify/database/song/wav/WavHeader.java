@@ -0,0 +1,181 @@
+package spotify.database.song.wav;
+
+import javax.sound.sampled.AudioFormat;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The Header of a RIFF/WAVE Audio File
+ * <p>
+ * The Header is read directly from the File through a {@code FileChannel} instead of through
+ * {@code AudioSystem}, which looks up every installed Audio File Reader for every File.
+ * Only the first {@code HEAD_SIZE} Bytes are read, the Chunks after them (if the File has large Chunks
+ * before its Audio Data) are found with positional Reads of their 8-Byte Headers.
+ * </p>
+ * <p>
+ * The {@code AudioFormat} is constructed the same way {@code AudioSystem} constructs it for
+ * PCM, IEEE Float, A-Law and u-Law Files, also when they are in the WAVE_FORMAT_EXTENSIBLE Format
+ * </p>
+ */
+public class WavHeader {
+    private static final int HEAD_SIZE = 512;
+    private static final int CHUNK_HEADER_SIZE = 8;
+    private static final int MIN_FMT_CHUNK_SIZE = 16;
+    private static final int EXTENSIBLE_FMT_CHUNK_SIZE = 40;
+    private static final int SUB_FORMAT_OFFSET = 24;
+
+    private static final int RIFF = 0x46464952; // "RIFF" read as a Little-Endian int
+    private static final int WAVE = 0x45564157; // "WAVE"
+    private static final int FMT = 0x20746d66; // "fmt "
+    private static final int DATA = 0x61746164; // "data"
+
+    private static final int WAVE_FORMAT_PCM = 0x0001;
+    private static final int WAVE_FORMAT_IEEE_FLOAT = 0x0003;
+    private static final int WAVE_FORMAT_ALAW = 0x0006;
+    private static final int WAVE_FORMAT_MULAW = 0x0007;
+    private static final int WAVE_FORMAT_EXTENSIBLE = 0xFFFE;
+
+    private final AudioFormat audioFormat;
+    private final long dataOffset;
+    private final long dataSize;
+
+    private WavHeader(AudioFormat audioFormat, long dataOffset, long dataSize) {
+        this.audioFormat = audioFormat;
+        this.dataOffset = dataOffset;
+        this.dataSize = dataSize;
+    }
+
+    /**
+     * Reads the Header of a WAV File
+     *
+     * @param file the WAV File
+     * @return the Header of the File
+     * @throws IOException if the File could not be read, is not a WAV File or its Encoding is not supported
+     */
+    public static WavHeader read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+
+            ByteBuffer head = ByteBuffer.allocate((int) Math.min(HEAD_SIZE, fileSize)).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(channel, head, 0);
+            head.flip();
+
+            if (head.limit() < 12 || head.getInt(0) != RIFF || head.getInt(8) != WAVE) {
+                throw new IOException("The File: " + file + " is not a WAV File");
+            }
+
+            return readChunks(channel, head, fileSize, file);
+        }
+    }
+
+    public AudioFormat getAudioFormat() {
+        return audioFormat;
+    }
+
+    /**
+     * @return the Position of the first Audio Frame in the File
+     */
+    public long getDataOffset() {
+        return dataOffset;
+    }
+
+    /**
+     * @return the Size of the Audio Data in Bytes, limited to the Bytes actually in the File
+     */
+    public long getDataSize() {
+        return dataSize;
+    }
+
+    private static WavHeader readChunks(FileChannel channel, ByteBuffer head, long fileSize, Path file)
+        throws IOException {
+        AudioFormat audioFormat = null;
+        long position = 12;
+
+        while (position + CHUNK_HEADER_SIZE <= fileSize) {
+            ByteBuffer chunkHeader = read(channel, head, position, CHUNK_HEADER_SIZE);
+            int chunkId = chunkHeader.getInt(0);
+            long chunkSize = Integer.toUnsignedLong(chunkHeader.getInt(4));
+            long chunkStart = position + CHUNK_HEADER_SIZE;
+
+            if (chunkId == FMT) {
+                if (chunkSize < MIN_FMT_CHUNK_SIZE) {
+                    throw new IOException("The fmt Chunk of the File: " + file + " is too short");
+                }
+
+                int fmtSize = chunkSize >= EXTENSIBLE_FMT_CHUNK_SIZE ? EXTENSIBLE_FMT_CHUNK_SIZE : MIN_FMT_CHUNK_SIZE;
+                audioFormat = toAudioFormat(read(channel, head, chunkStart, fmtSize), file);
+            } else if (chunkId == DATA) {
+                if (audioFormat == null) {
+                    throw new IOException("The File: " + file + " has no fmt Chunk before its Audio Data");
+                }
+
+                return new WavHeader(audioFormat, chunkStart, Math.min(chunkSize, fileSize - chunkStart));
+            }
+
+            position = chunkStart + chunkSize + (chunkSize & 1); // Chunks are aligned to 2 Bytes
+        }
+
+        throw new IOException("The File: " + file + " has no Audio Data");
+    }
+
+    private static AudioFormat toAudioFormat(ByteBuffer fmt, Path file) throws IOException {
+        int formatTag = Short.toUnsignedInt(fmt.getShort(0));
+        int channels = Short.toUnsignedInt(fmt.getShort(2));
+        float sampleRate = Integer.toUnsignedLong(fmt.getInt(4));
+        int sampleSizeInBits = Short.toUnsignedInt(fmt.getShort(14));
+
+        if (formatTag == WAVE_FORMAT_EXTENSIBLE) {
+            if (fmt.limit() < EXTENSIBLE_FMT_CHUNK_SIZE) {
+                throw new IOException("The extensible fmt Chunk of the File: " + file + " is too short");
+            }
+
+            formatTag = Short.toUnsignedInt(fmt.getShort(SUB_FORMAT_OFFSET));
+        }
+
+        AudioFormat.Encoding encoding = switch (formatTag) {
+            case WAVE_FORMAT_PCM -> sampleSizeInBits == 8 ? AudioFormat.Encoding.PCM_UNSIGNED :
+                AudioFormat.Encoding.PCM_SIGNED;
+            case WAVE_FORMAT_IEEE_FLOAT -> AudioFormat.Encoding.PCM_FLOAT;
+            case WAVE_FORMAT_ALAW -> AudioFormat.Encoding.ALAW;
+            case WAVE_FORMAT_MULAW -> AudioFormat.Encoding.ULAW;
+            default -> throw new IOException("The Encoding of the File: " + file + " is not supported");
+        };
+
+        int frameSize = ((sampleSizeInBits + 7) / 8) * channels;
+
+        return new AudioFormat(encoding, sampleRate, sampleSizeInBits, channels, frameSize, sampleRate, false);
+    }
+
+    /**
+     * Gets {@code size} Bytes at {@code position} of the File from the already read Head
+     * or with a positional Read if they are after it
+     */
+    private static ByteBuffer read(FileChannel channel, ByteBuffer head, long position, int size)
+        throws IOException {
+        if (position + size <= head.limit()) {
+            return head.slice((int) position, size).order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        readFully(channel, buffer, position);
+
+        if (buffer.hasRemaining()) {
+            throw new IOException("Unexpected End of the WAV File");
+        }
+
+        return buffer.flip();
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                break;
+            }
+        }
+    }
+}
@@ -3,63 +3,56 @@ package spotify.database.user.service;
 import spotify.database.user.User;
 import spotify.database.user.exceptions.UserAlreadyLoggedInException;
 import spotify.database.user.exceptions.UserNotLoggedInException;
-import spotify.server.exceptions.PortCurrentlyStreamingException;
+import spotify.server.exceptions.UserCurrentlyStreamingException;
 import spotify.database.user.exceptions.UserNotRegisteredException;
 
 public interface UserService {
     /**
-     * Logs in a User in the System by assigning said User to a Port for Song Streaming
+     * Logs in a User in the System
      *
      * @param user the User to be logged in
-     * @throws UserAlreadyLoggedInException if the User already has an assigned Port for Song Streaming
+     * @throws UserAlreadyLoggedInException if the User has already logged in
      * @throws UserNotRegisteredException   if the User is not registered in the Database
      */
     void logIn(User user) throws UserAlreadyLoggedInException, UserNotRegisteredException;
 
     /**
-     * Logs out a User in the System by freeing his Streaming Port
+     * Logs out a User from the System
      *
      * @param user the User to be logged out
-     * @throws UserNotLoggedInException   if the User does not have an assigned Port for Song Streaming
+     * @throws UserNotLoggedInException   if the User has not logged in
      * @throws UserNotRegisteredException if the User is not registered in the Database
      */
     void logOut(User user) throws UserNotLoggedInException, UserNotRegisteredException;
 
     /**
-     * Checks if the {@code user} has a Streaming Port assigned to him
+     * Checks if the {@code user} has logged in
      *
      * @param user the User to be checked
-     * @return true if the User has an assigned Streaming port, false otherwise
+     * @return true if the User has logged in, false otherwise
      */
     boolean isLoggedIn(User user);
 
     /**
-     * Marks a Port as Streaming
+     * Marks a User as Streaming, so that the User can not start another Stream until the current one ends
      *
-     * @param port the Port to be marked as Streaming
+     * @param user the User to be marked as Streaming
+     * @throws UserCurrentlyStreamingException if the {@code user} is already marked as Streaming
      */
-    void lockPort(long port);
+    void lockStreaming(User user) throws UserCurrentlyStreamingException;
 
     /**
-     * Checks if the {@code port} is marked as Streaming
+     * Checks if the {@code user} is marked as Streaming
      *
-     * @param port the Port to be checked
-     * @throws PortCurrentlyStreamingException if the {@code port} is marked as Streaming
-     */
-    void isPortLocked(long port) throws PortCurrentlyStreamingException;
-
-    /**
-     * Marks a Port as Free
-     *
-     * @param port the Port to be marked as Free
+     * @param user the User to be checked
+     * @return true if the User is marked as Streaming, false otherwise
      */
-    void freePort(long port);
+    boolean isStreaming(User user);
 
     /**
-     * Gets the User Streaming Port
+     * Marks a User as not Streaming
      *
-     * @param user the User whose Port is searched
-     * @return the User Streaming Port if said User has been assigned to a Streaming Port, -1 otherwise
+     * @param user the User to be marked as not Streaming
      */
-    long getPort(User user);
+    void freeStreaming(User user);
 }
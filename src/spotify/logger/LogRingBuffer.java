@@ -0,0 +1,114 @@
+package spotify.logger;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * A bounded lock-free Queue between any Number of Threads that log and a single Thread that writes the Logs
+ * <p>
+ * Every Slot has a Sequence Number that tells whether it is free for the Producer of a given Position
+ * or filled for the Consumer. A Producer claims a Position with a Compare-And-Set on the Tail and
+ * publishes its Element by advancing the Sequence of the Slot. The Consumer is the only Thread that moves the Head,
+ * so it needs no Compare-And-Set at all
+ * </p>
+ *
+ * @param <T> the Type of the Elements
+ */
+public class LogRingBuffer<T> {
+    private final int mask;
+    private final AtomicReferenceArray<T> elements;
+    private final AtomicLongArray sequences;
+
+    private final AtomicLong tail;
+    private long head; // Only accessed by the Consumer
+
+    /**
+     * @param capacity the maximum Number of Elements, rounded up to a Power of Two (at least 2)
+     */
+    public LogRingBuffer(int capacity) {
+        if (capacity < 1 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("The Capacity must be between 1 and 2^30");
+        }
+
+        // With a single Slot, "free for Position p" and "filled at Position p - 1" would be the same Sequence
+        int size = Math.max(2, Integer.highestOneBit(capacity));
+        if (size < capacity) {
+            size <<= 1;
+        }
+
+        mask = size - 1;
+        elements = new AtomicReferenceArray<>(size);
+        sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; ++i) {
+            sequences.set(i, i);
+        }
+
+        tail = new AtomicLong();
+    }
+
+    /**
+     * Adds an Element if the Buffer is not full. May be called by any Thread
+     *
+     * @param element the Element to be added
+     * @return false if the Buffer is full
+     */
+    public boolean offer(T element) {
+        while (true) {
+            long position = tail.get();
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements.set(index, element);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+            } else if (difference < 0) {
+                return false;
+            }
+            // Another Producer has claimed the Position - retry with the new Tail
+        }
+    }
+
+    /**
+     * Removes up to {@code maxElements} Elements in Order. May only be called by the Consumer Thread
+     *
+     * @param consumer    receives the removed Elements
+     * @param maxElements the maximum Number of removed Elements
+     * @return the Number of removed Elements
+     */
+    public int drain(Consumer<? super T> consumer, int maxElements) {
+        int drained = 0;
+
+        while (drained < maxElements) {
+            int index = (int) head & mask;
+            if (sequences.get(index) != head + 1) {
+                break; // Empty, or the Producer of the next Position has not published its Element yet
+            }
+
+            T element = elements.get(index);
+            elements.set(index, null);
+            sequences.set(index, head + mask + 1);
+            ++head;
+
+            consumer.accept(element);
+            ++drained;
+        }
+
+        return drained;
+    }
+
+    /**
+     * @return true if no Element is published at the Head. May only be called by the Consumer Thread
+     */
+    public boolean isEmpty() {
+        return sequences.get((int) head & mask) != head + 1;
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+}
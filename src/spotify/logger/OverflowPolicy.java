@@ -0,0 +1,16 @@
+package spotify.logger;
+
+/**
+ * What a Thread that logs does when the Log Buffer is full
+ */
+public enum OverflowPolicy {
+    /**
+     * The Message is dropped and counted, the Thread never waits for the Log Writer
+     */
+    DROP,
+
+    /**
+     * The Thread waits until the Log Writer has made Room, no Message is lost
+     */
+    BLOCK
+}
@@ -1,24 +1,99 @@
 package spotify.logger;
 
 import spotify.database.user.User;
+import spotify.logger.request.RequestLog;
+import spotify.logger.request.RequestLogRecord;
 
 import java.io.IOException;
+import java.io.PrintStream;
 import java.io.PrintWriter;
 import java.nio.channels.SelectionKey;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Logs the Requests, Responses and Errors of the Clients to the Terminal and to the Logs File
+ * <p>
+ * Logging never does I/O on the Thread that logs. A Message is only captured - the Input or Output String,
+ * the User and the Exception - and put into a lock-free Ring Buffer. A single Daemon Thread formats the Messages,
+ * writes them in Batches of up to {@code MAX_BATCH_SIZE} and flushes the Terminal and the File once per Batch,
+ * so the Latency of a Request does not depend on the Speed of the Terminal or the Disk.
+ * </p>
+ * <p>
+ * When the Buffer is full the {@code OverflowPolicy} decides whether the Message is dropped or the Thread waits.
+ * Dropped Messages are counted and reported in the Log.
+ * {@code close} writes all Messages logged before it and closes the Logs File
+ * </p>
+ * <p>
+ * Completed Requests are logged as compact binary Records to the {@code RequestLog}, if there is one,
+ * by the same Thread
+ * </p>
+ */
+public class SpotifyLogger implements AutoCloseable {
+    private static final int DEFAULT_CAPACITY = 8192;
+    private static final int MAX_BATCH_SIZE = 256;
+    private static final long MAX_IDLE_NANOS = 100_000_000;
+    private static final long BLOCKED_WAIT_NANOS = 100_000;
 
-public class SpotifyLogger {
     private final String fileName;
+    private final PrintStream terminal;
     private PrintWriter writer;
+    private final RequestLog requestLog;
+    private boolean isRequestLogFailing;
+
+    private final LogRingBuffer<LogMessage> buffer;
+    private final OverflowPolicy overflowPolicy;
+    private final AtomicLong droppedMessages;
+    private final StringBuilder batch;
+
+    private final Thread writerThread;
+    private volatile boolean isWriterIdle;
+    private volatile boolean isClosed;
 
     public SpotifyLogger(String fileName) {
+        this(fileName, null, DEFAULT_CAPACITY, OverflowPolicy.DROP);
+    }
+
+    /**
+     * @param fileName       the Logs File
+     * @param capacity       the maximum Number of Messages waiting to be written
+     * @param overflowPolicy what happens to a Message logged while {@code capacity} Messages are waiting
+     */
+    public SpotifyLogger(String fileName, int capacity, OverflowPolicy overflowPolicy) {
+        this(fileName, null, capacity, overflowPolicy);
+    }
+
+    /**
+     * @param fileName       the Logs File
+     * @param requestLog     the binary Log of the completed Requests or null, it is closed with the Logger
+     * @param capacity       the maximum Number of Messages waiting to be written
+     * @param overflowPolicy what happens to a Message logged while {@code capacity} Messages are waiting
+     */
+    public SpotifyLogger(String fileName, RequestLog requestLog, int capacity, OverflowPolicy overflowPolicy) {
+        this(fileName, requestLog, capacity, overflowPolicy, System.out);
+    }
+
+    SpotifyLogger(String fileName, RequestLog requestLog, int capacity, OverflowPolicy overflowPolicy,
+                  PrintStream terminal) {
         this.fileName = fileName;
+        this.requestLog = requestLog;
+        this.terminal = terminal;
         try {
             writer = new PrintWriter(Files.newBufferedWriter(Path.of(fileName)));
         } catch (IOException e) {
             System.out.println("Logs Writer could not be created");
         }
+
+        this.buffer = new LogRingBuffer<>(capacity);
+        this.overflowPolicy = overflowPolicy;
+        this.droppedMessages = new AtomicLong();
+        this.batch = new StringBuilder();
+
+        writerThread = new Thread(this::run, "Spotify Logger");
+        writerThread.setDaemon(true);
+        writerThread.start();
     }
 
     /**
@@ -29,31 +104,7 @@ public class SpotifyLogger {
      * @param key         the Selection key to which the current User is attached
      */
     public void log(Exception e, String clientInput, SelectionKey key) {
-        User user = (User) key.attachment();
-
-        // Log File
-        writer.write("Request <" + clientInput + ">");
-
-        if (user == null) {
-            writer.write(" by unknown User");
-        } else {
-            writer.write(" by User: " + user);
-        }
-        writer.write(" triggered an Exception:" + System.lineSeparator());
-        e.printStackTrace(writer);
-        writer.write(System.lineSeparator());
-
-        // Terminal
-        System.out.print("Exception " + e.getClass() + " was triggered by ");
-        if (user == null) {
-            System.out.print("unknown User");
-        } else {
-            System.out.print("User :" + user);
-        }
-        System.out.println();
-        System.out.println("Exception Message: " + e.getMessage());
-        System.out.println("Request that caused it <" + clientInput + ">");
-        System.out.println();
+        enqueue(new LogMessage(LogMessageType.ERROR, (User) key.attachment(), clientInput, e, null));
     }
 
     /**
@@ -63,20 +114,7 @@ public class SpotifyLogger {
      * @param key   the key associated to the Socket Channel
      */
     public void logClientInput(String input, SelectionKey key) {
-        User user = (User) key.attachment();
-
-        String message;
-        if (user == null) {
-            message = "An unknown User requested <" + input + ">";
-        } else {
-            message = "User: " + user + " requested <" + input + ">";
-        }
-
-        System.out.println(message);
-        writer.println(message);
-        writer.println();
-
-        System.out.println();
+        enqueue(new LogMessage(LogMessageType.CLIENT_INPUT, (User) key.attachment(), input, null, null));
     }
 
     /**
@@ -86,27 +124,200 @@ public class SpotifyLogger {
      * @param key    the key associated to the Socket Channel
      */
     public void logClientOutput(String output, SelectionKey key) {
-        User user = (User) key.attachment();
+        enqueue(new LogMessage(LogMessageType.CLIENT_OUTPUT, (User) key.attachment(), output, null, null));
+    }
+
+    /**
+     * Logs a completed Request to the binary Request Log. Does nothing if there is no Request Log
+     *
+     * @param record the Record of the Request
+     */
+    public void logRequest(RequestLogRecord record) {
+        if (requestLog != null) {
+            enqueue(new LogMessage(LogMessageType.REQUEST, null, null, null, record));
+        }
+    }
+
+    /**
+     * @return the Number of Messages dropped because the Buffer was full, since the last Report in the Log
+     */
+    public long getDroppedMessages() {
+        return droppedMessages.get();
+    }
+
+    /**
+     * Writes all logged Messages and closes the Logs File
+     */
+    @Override
+    public void close() {
+        if (isClosed) {
+            return;
+        }
+
+        isClosed = true;
+        LockSupport.unpark(writerThread);
+
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (writer != null) {
+            writer.close();
+        }
 
-        String message;
-        if (user == null) {
-            message = "Sending <" + output + "> to an unknown  User";
-        } else {
-            message = "Sending <" + output + "> to User: " + user;
+        if (requestLog != null) {
+            try {
+                requestLog.close();
+            } catch (IOException e) {
+                System.out.println("The Request Log could not be closed");
+            }
         }
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    private void enqueue(LogMessage message) {
+        if (isClosed) {
+            return;
+        }
+
+        while (!buffer.offer(message)) {
+            if (overflowPolicy == OverflowPolicy.DROP) {
+                droppedMessages.incrementAndGet();
+                return;
+            }
+
+            if (isClosed) {
+                return; // The Writer Thread may have stopped, the Buffer would never have Space again
+            }
+
+            LockSupport.unpark(writerThread);
+            LockSupport.parkNanos(BLOCKED_WAIT_NANOS);
+        }
+
+        if (isWriterIdle) {
+            LockSupport.unpark(writerThread);
+        }
+    }
 
-        System.out.println(message);
-        writer.println(message);
-        writer.println();
+    private void run() {
+        while (true) {
+            boolean isClosing = isClosed;
 
-        System.out.println();
+            if (buffer.drain(this::write, MAX_BATCH_SIZE) > 0) {
+                flush();
+                continue;
+            }
+
+            if (isClosing) {
+                flush(); // Reports the last dropped Messages
+                return;
+            }
+
+            isWriterIdle = true;
+            if (buffer.isEmpty() && !isClosed) {
+                LockSupport.parkNanos(this, MAX_IDLE_NANOS);
+            }
+            isWriterIdle = false;
+        }
+    }
+
+    private void write(LogMessage message) {
+        String user = message.user() == null ? null : message.user().toString();
+
+        switch (message.type()) {
+            case CLIENT_INPUT -> writeMessage(user == null ? "An unknown User requested <" + message.text() + ">" :
+                "User: " + user + " requested <" + message.text() + ">");
+            case CLIENT_OUTPUT -> writeMessage(user == null ? "Sending <" + message.text() + "> to an unknown  User" :
+                "Sending <" + message.text() + "> to User: " + user);
+            case ERROR -> writeError(message.exception(), message.text(), user);
+            case REQUEST -> writeRequest(message.request());
+        }
     }
 
-    public void closeLogger() {
-        writer.close();
+    private void writeRequest(RequestLogRecord record) {
+        if (isRequestLogFailing) {
+            return;
+        }
+
+        try {
+            requestLog.append(record);
+        } catch (IllegalArgumentException e) {
+            System.out.println("A Request could not be logged: " + e.getMessage()); // Only this Record is skipped
+        } catch (IOException e) {
+            isRequestLogFailing = true;
+            System.out.println("The Request Log could not be written, Requests are no longer logged");
+        }
     }
 
-    public PrintWriter getWriter() {
-        return writer;
+    private void writeMessage(String message) {
+        batch.append(message).append(System.lineSeparator()).append(System.lineSeparator());
+
+        if (writer != null) {
+            writer.println(message);
+            writer.println();
+        }
+    }
+
+    private void writeError(Exception e, String clientInput, String user) {
+        // Log File
+        if (writer != null) {
+            writer.write("Request <" + clientInput + ">");
+            writer.write(user == null ? " by unknown User" : " by User: " + user);
+            writer.write(" triggered an Exception:" + System.lineSeparator());
+            e.printStackTrace(writer);
+            writer.write(System.lineSeparator());
+        }
+
+        // Terminal
+        batch.append("Exception ").append(e.getClass()).append(" was triggered by ")
+            .append(user == null ? "unknown User" : "User :" + user).append(System.lineSeparator())
+            .append("Exception Message: ").append(e.getMessage()).append(System.lineSeparator())
+            .append("Request that caused it <").append(clientInput).append(">").append(System.lineSeparator())
+            .append(System.lineSeparator());
+    }
+
+    private void flush() {
+        long dropped = droppedMessages.getAndSet(0);
+        if (dropped > 0) {
+            writeMessage(dropped + " Log Messages were dropped because the Logger could not keep up");
+        }
+
+        if (!batch.isEmpty()) {
+            terminal.print(batch);
+            terminal.flush();
+            batch.setLength(0);
+        }
+
+        if (writer != null) {
+            writer.flush();
+        }
+
+        if (requestLog != null && !isRequestLogFailing) {
+            try {
+                requestLog.flush();
+            } catch (IOException e) {
+                isRequestLogFailing = true;
+                System.out.println("The Request Log could not be written, Requests are no longer logged");
+            }
+        }
+    }
+
+    private enum LogMessageType {
+        CLIENT_INPUT,
+        CLIENT_OUTPUT,
+        ERROR,
+        REQUEST
+    }
+
+    /**
+     * A logged Message before it is formatted. All Fields are immutable, so it can be formatted on the Writer Thread
+     */
+    private record LogMessage(LogMessageType type, User user, String text, Exception exception,
+                              RequestLogRecord request) {
     }
 }
@@ -0,0 +1,131 @@
+package spotify.logger.request;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * An append-only binary Log of all Requests, see {@link RequestLogRecord} for the Format of a Record
+ * <p>
+ * Every File starts with {@code MAGIC} and {@code VERSION} followed by the Records. When a File has grown
+ * to {@code maxFileBytes} it is rotated: {@code requests.log} is renamed to {@code requests.log.1},
+ * {@code requests.log.1} to {@code requests.log.2} and so on, and only the newest {@code maxFiles} Files are kept.
+ * A File with Records left by a previous Run is rotated too, so a Record cut off by a Crash is always the last one
+ * of its File.
+ * </p>
+ * <p>
+ * The Log is not Thread Safe, it is written only by the Thread of the {@code SpotifyLogger}.
+ * {@link RequestLogDecoder} turns the Files back into Text
+ * </p>
+ */
+public class RequestLog implements AutoCloseable {
+    static final int MAGIC = 0x53524C47; // "SRLG"
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = Integer.BYTES + Short.BYTES;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path file;
+    private final long maxFileBytes;
+    private final int maxFiles;
+    private final ByteArrayOutputStream recordBytes;
+    private final DataOutputStream recordOutput;
+
+    private DataOutputStream output;
+
+    /**
+     * @param file         the current Log File
+     * @param maxFileBytes the Size after which the File is rotated, at most {@code Integer.MAX_VALUE}
+     * @param maxFiles     the Number of kept Files, including the current one
+     * @throws IOException if the Log File could not be opened
+     */
+    public RequestLog(Path file, long maxFileBytes, int maxFiles) throws IOException {
+        if (maxFileBytes <= HEADER_SIZE || maxFileBytes > Integer.MAX_VALUE || maxFiles < 1) {
+            throw new IllegalArgumentException("Invalid Request Log Limits");
+        }
+
+        this.file = file;
+        this.maxFileBytes = maxFileBytes;
+        this.maxFiles = maxFiles;
+        this.recordBytes = new ByteArrayOutputStream();
+        this.recordOutput = new DataOutputStream(recordBytes);
+
+        open();
+    }
+
+    /**
+     * Appends a Record, rotating the File first if it is full. The Record may stay buffered until {@code flush}<br>
+     * The Record is encoded before anything is written, so a Record that can not be encoded leaves the Log intact
+     *
+     * @param record the Record
+     * @throws IllegalArgumentException if the Record can not be encoded, nothing is written then
+     * @throws IOException              if the Record could not be written
+     */
+    public void append(RequestLogRecord record) throws IOException {
+        recordBytes.reset();
+        try {
+            record.writeTo(recordOutput);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("The Request Log Record can not be encoded", e);
+        }
+
+        if (output.size() >= maxFileBytes) { // The Size counts the Bytes written to the current File
+            rotate();
+        }
+
+        recordBytes.writeTo(output);
+    }
+
+    public void flush() throws IOException {
+        output.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        output.close();
+    }
+
+    /**
+     * @param index the Index of a rotated File, 0 is the current File
+     * @return the Path of that File
+     */
+    public Path getFile(int index) {
+        return index == 0 ? file : file.resolveSibling(file.getFileName() + "." + index);
+    }
+
+    private void open() throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        if (Files.exists(file) && Files.size(file) > HEADER_SIZE) {
+            shiftFiles(); // A File without Records is overwritten instead
+        }
+
+        output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE));
+
+        output.writeInt(MAGIC);
+        output.writeShort(VERSION);
+    }
+
+    private void rotate() throws IOException {
+        output.close();
+        open();
+    }
+
+    private void shiftFiles() throws IOException {
+        Files.deleteIfExists(getFile(maxFiles - 1));
+
+        for (int index = maxFiles - 1; index > 0; --index) {
+            Path previous = getFile(index - 1);
+            if (Files.exists(previous)) {
+                Files.move(previous, getFile(index), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package spotify.logger.request;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.function.Consumer;
+
+/**
+ * Turns the binary Request Log back into Text for Debugging
+ * <p>
+ * Usage: {@code java spotify.logger.request.RequestLogDecoder [File...]}<br>
+ * Without Arguments the current Request Log of the Server ({@code requests.log}) is decoded.
+ * Every Record is printed on its own Line, for example:<br>
+ * 2026-10-18T09:15:02.114Z #12 user@mail.com search OK 412us 1830B<br>
+ * 2026-10-18T09:15:03.020Z #12 user@mail.com play FAILED 95us 47B request <play Song> error <No such Song>
+ * </p>
+ */
+public final class RequestLogDecoder {
+    private static final String DEFAULT_FILE_NAME = "requests.log";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private RequestLogDecoder() {
+    }
+
+    /**
+     * Reads all Records of a Request Log File in Order
+     *
+     * @param file     the File
+     * @param consumer receives the Records
+     * @return false if the last Record is incomplete, because the Server has stopped while writing it
+     * @throws IOException if the File could not be read or is not a Request Log
+     */
+    public static boolean decode(Path file, Consumer<RequestLogRecord> consumer) throws IOException {
+        try (DataInputStream input =
+                 new DataInputStream(new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE))) {
+            if (input.readInt() != RequestLog.MAGIC) {
+                throw new IOException("The File: " + file + " is not a Request Log");
+            }
+
+            short version = input.readShort();
+            if (version != RequestLog.VERSION) {
+                throw new IOException("The Request Log Version: " + version + " is not supported");
+            }
+
+            while (true) {
+                input.mark(1);
+                if (input.read() < 0) {
+                    return true;
+                }
+                input.reset();
+
+                try {
+                    consumer.accept(RequestLogRecord.readFrom(input));
+                } catch (EOFException e) {
+                    return false;
+                }
+            }
+        } catch (EOFException e) {
+            throw new IOException("The File: " + file + " is not a Request Log");
+        }
+    }
+
+    /**
+     * @param record a Record
+     * @return a single Line describing the Record
+     */
+    public static String format(RequestLogRecord record) {
+        StringBuilder line = new StringBuilder();
+
+        line.append(Instant.ofEpochMilli(record.timestampMillis())).append(" #").append(record.connectionId())
+            .append(' ').append(record.user() == null ? "-" : record.user())
+            .append(' ').append(record.commandType() == null ? "unknown" : record.commandType().getAsString())
+            .append(' ').append(record.outcome())
+            .append(' ').append(record.latencyMicros()).append("us")
+            .append(' ').append(record.responseSize()).append('B');
+
+        if (record.outcome() != RequestOutcome.OK) {
+            line.append(" request <").append(record.request()).append("> error <").append(record.error()).append('>');
+        }
+
+        return line.toString();
+    }
+
+    public static void main(String[] args) {
+        String[] fileNames = args.length == 0 ? new String[] {DEFAULT_FILE_NAME} : args;
+
+        for (String fileName : fileNames) {
+            try {
+                boolean isComplete = decode(Path.of(fileName), record -> System.out.println(format(record)));
+
+                if (!isComplete) {
+                    System.out.println("The last Record of " + fileName + " is incomplete");
+                }
+            } catch (IOException e) {
+                System.out.println("The Request Log: " + fileName + " could not be read: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package spotify.logger.request;
+
+import spotify.server.command.CommandType;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * A single Request in the binary Request Log
+ * <p>
+ * A Record is saved in the following Order:<br>
+ * timestamp (long), connectionId (long), user (UTF, empty if unknown), commandType (byte, -1 if unknown),
+ * latencyMicros (int), responseSize (int), outcome (byte)<br>
+ * and, only if the Outcome is not {@code OK}: request (UTF), error (UTF)
+ * </p>
+ * <p>
+ * A successful Request takes about 30 Bytes plus the Email of its User. The Command Type is saved by its Ordinal,
+ * so adding a Command Type anywhere except at the End needs a new Version of the Request Log
+ * </p>
+ *
+ * @param timestampMillis the Time the Request was completed
+ * @param connectionId    the Id of the Client's Connection
+ * @param user            the Email of the User or null if the Client has not logged in
+ * @param commandType     the Type of the Command or null if the Request was not a valid Command
+ * @param latencyMicros   the Time from reading the Request to queueing its Response
+ * @param responseSize    the Size of the Response in Bytes
+ * @param outcome         how the Request has ended
+ * @param request         the Request, only kept if the Outcome is not {@code OK}
+ * @param error           the Error Message, only kept if the Outcome is not {@code OK}
+ */
+public record RequestLogRecord(long timestampMillis, long connectionId, String user, CommandType commandType,
+                               long latencyMicros, int responseSize, RequestOutcome outcome, String request,
+                               String error) {
+    private static final int MAX_PAYLOAD_LENGTH = 1024;
+    private static final int UNKNOWN_COMMAND_TYPE = -1;
+
+    /**
+     * Writes the Record. The User, the Request and the Error are cut to {@code MAX_PAYLOAD_LENGTH} Characters,
+     * so they always fit in a UTF String
+     *
+     * @param output the Output
+     * @throws IOException if the Record could not be written
+     */
+    public void writeTo(DataOutput output) throws IOException {
+        output.writeLong(timestampMillis);
+        output.writeLong(connectionId);
+        output.writeUTF(cut(user));
+        output.writeByte(commandType == null ? UNKNOWN_COMMAND_TYPE : commandType.ordinal());
+        output.writeInt((int) Math.min(latencyMicros, Integer.MAX_VALUE));
+        output.writeInt(responseSize);
+        output.writeByte(outcome.getCode());
+
+        if (outcome != RequestOutcome.OK) {
+            output.writeUTF(cut(request));
+            output.writeUTF(cut(error));
+        }
+    }
+
+    /**
+     * Reads a Record written by {@code writeTo}
+     *
+     * @param input the Input
+     * @return the Record
+     * @throws IOException if the Record could not be read or is invalid
+     */
+    public static RequestLogRecord readFrom(DataInput input) throws IOException {
+        long timestampMillis = input.readLong();
+        long connectionId = input.readLong();
+        String user = input.readUTF();
+        int commandTypeOrdinal = input.readByte();
+        long latencyMicros = input.readInt();
+        int responseSize = input.readInt();
+        RequestOutcome outcome = RequestOutcome.of(input.readByte());
+
+        CommandType[] commandTypes = CommandType.values();
+        if (outcome == null || commandTypeOrdinal < UNKNOWN_COMMAND_TYPE ||
+            commandTypeOrdinal >= commandTypes.length) {
+            throw new IOException("Invalid Request Log Record");
+        }
+
+        String request = null;
+        String error = null;
+        if (outcome != RequestOutcome.OK) {
+            request = input.readUTF();
+            error = input.readUTF();
+        }
+
+        return new RequestLogRecord(timestampMillis, connectionId, user.isEmpty() ? null : user,
+            commandTypeOrdinal == UNKNOWN_COMMAND_TYPE ? null : commandTypes[commandTypeOrdinal], latencyMicros,
+            responseSize, outcome, request, error);
+    }
+
+    private static String cut(String payload) {
+        if (payload == null) {
+            return "";
+        }
+
+        if (payload.length() <= MAX_PAYLOAD_LENGTH) {
+            return payload;
+        }
+
+        int end = MAX_PAYLOAD_LENGTH;
+        if (Character.isHighSurrogate(payload.charAt(end - 1))) {
+            --end; // Do not split a Character in two
+        }
+
+        return payload.substring(0, end);
+    }
+}
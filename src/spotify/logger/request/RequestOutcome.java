@@ -0,0 +1,45 @@
+package spotify.logger.request;
+
+/**
+ * How a Request has ended. The Code of an Outcome is saved in the Request Log, so it must never change
+ */
+public enum RequestOutcome {
+    /**
+     * The Command was executed and its Output was sent
+     */
+    OK(0),
+
+    /**
+     * The Request was not a valid Command or the User was not allowed to execute it
+     */
+    REJECTED(1),
+
+    /**
+     * The Command failed while executing
+     */
+    FAILED(2);
+
+    private final int code;
+
+    RequestOutcome(int code) {
+        this.code = code;
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    /**
+     * @param code the Code of an Outcome
+     * @return the Outcome or null if there is no Outcome with that Code
+     */
+    public static RequestOutcome of(int code) {
+        for (RequestOutcome outcome : values()) {
+            if (outcome.code == code) {
+                return outcome;
+            }
+        }
+
+        return null;
+    }
+}
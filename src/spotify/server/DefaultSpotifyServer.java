@@ -2,55 +2,108 @@ package spotify.server;
 
 import spotify.database.Database;
 import spotify.database.InMemoryDatabase;
+import spotify.database.song.cache.SongAudioCache;
+import spotify.database.song.cache.SongFileMappings;
+import spotify.database.song.streamer.SongStreamer;
+import spotify.database.song.streamer.StreamPacer;
 import spotify.database.user.User;
 import spotify.database.user.exceptions.UserNotLoggedInException;
 import spotify.database.user.exceptions.UserNotRegisteredException;
 import spotify.database.user.service.DefaultUserService;
 import spotify.database.user.service.UserService;
+import spotify.logger.OverflowPolicy;
 import spotify.logger.SpotifyLogger;
+import spotify.logger.request.RequestLog;
+import spotify.logger.request.RequestLogRecord;
+import spotify.logger.request.RequestOutcome;
 import spotify.server.command.Command;
 import spotify.server.command.executor.CommandExecutor;
 import spotify.server.command.factory.CommandFactory;
+import spotify.server.command.thread.unsafe.LoginCommand;
 import spotify.server.command.validator.CommandValidator;
+import spotify.server.connection.ByteBufferPool;
+import spotify.server.connection.ClientConnection;
+import spotify.server.metrics.ServerMetrics;
 
 import java.io.IOException;
-import java.io.PrintWriter;
 import java.net.InetSocketAddress;
-import java.nio.ByteBuffer;
 import java.nio.channels.SelectionKey;
 import java.nio.channels.Selector;
 import java.nio.channels.ServerSocketChannel;
 import java.nio.channels.SocketChannel;
-import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 public class DefaultSpotifyServer implements SpotifyServerTerminatePermission {
     private static final String LOG_FILE_NAME = "serverLogs.txt";
-
-    private static final long STREAMING_PORT = 7000;
-
-    private static final int BUFFER_SIZE = 2048;
+    private static final int LOG_BUFFER_CAPACITY = 8192;
+    private static final String REQUEST_LOG_FILE_NAME = "requests.log";
+    private static final long MAX_REQUEST_LOG_FILE_BYTES = 16L * 1024 * 1024;
+    private static final int MAX_REQUEST_LOG_FILES = 8;
+    private static final String LOG_REQUESTS_AS_TEXT_PROPERTY = "spotify.logRequestsAsText";
+
+    private static final int STREAMING_PORT = 7000;
+    private static final long AUDIO_CACHE_BUDGET_BYTES = 256L * 1024 * 1024;
+    private static final int MAX_IDLE_MAPPED_SONGS = 64;
+    private static final long STREAMING_LEAD_MILLIS = 2_000;
+    private static final long MAX_STREAMING_BYTES_PER_SECOND = 125_000_000; // 1 Gbit/s
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int MAX_POOLED_BUFFERS = 256;
+    private static final int COMMAND_WORKERS = Runtime.getRuntime().availableProcessors();
+    private static final int COMMAND_QUEUE_CAPACITY = 1024;
     private static final String HOST = "localhost";
 
     private final CommandExecutor commandExecutor;
     private final Database database;
     private final UserService userService;
+    private final SongStreamer songStreamer;
     private final SpotifyLogger logger;
+    private final ServerMetrics metrics;
 
     private final int port;
-    private boolean isServerWorking;
+    private final boolean logRequestsAsText;
+    private volatile boolean isServerWorking;
 
-    private final ByteBuffer buffer;
+    private final ByteBufferPool writeBufferPool;
+    private final Map<SelectionKey, ClientConnection> connections;
+    private long nextConnectionId;
     private Selector selector;
 
+    private final Queue<CompletedCommand> completedCommands;
+
     public DefaultSpotifyServer(int port, CommandExecutor commandExecutor, Database database) {
+        this(port, commandExecutor, database, false);
+    }
+
+    /**
+     * @param logRequestsAsText whether every Request and Response is also written as Text to the Server Logs,
+     *                          next to the binary Request Log
+     */
+    public DefaultSpotifyServer(int port, CommandExecutor commandExecutor, Database database,
+                                boolean logRequestsAsText) {
         this.port = port;
+        this.logRequestsAsText = logRequestsAsText;
         this.commandExecutor = commandExecutor;
-        this.logger = new SpotifyLogger(LOG_FILE_NAME);
-
-        this.userService = new DefaultUserService(STREAMING_PORT, database);
+        this.logger = new SpotifyLogger(LOG_FILE_NAME, openRequestLog(), LOG_BUFFER_CAPACITY, OverflowPolicy.DROP);
+
+        this.userService = new DefaultUserService(database);
+        this.songStreamer = new SongStreamer(this, STREAMING_PORT, new SongAudioCache(AUDIO_CACHE_BUDGET_BYTES),
+            new SongFileMappings(MAX_IDLE_MAPPED_SONGS),
+            new StreamPacer(STREAMING_LEAD_MILLIS, MAX_STREAMING_BYTES_PER_SECOND));
+        this.metrics = new ServerMetrics(songStreamer.getMetrics());
+        if (commandExecutor != null) {
+            commandExecutor.setExecutionListener(metrics);
+        }
 
-        this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        this.writeBufferPool = new ByteBufferPool(BUFFER_SIZE, MAX_POOLED_BUFFERS);
+        this.connections = new HashMap<>();
+        this.completedCommands = new ConcurrentLinkedQueue<>();
 
         this.database = database;
         isServerWorking = true;
@@ -58,13 +111,14 @@ public class DefaultSpotifyServer implements SpotifyServerTerminatePermission {
 
     @Override
     public void run() {
-        final PrintWriter writer = logger.getWriter();
-        try (ServerSocketChannel serverSocketChannel = ServerSocketChannel.open(); database; writer) {
+        try (ServerSocketChannel serverSocketChannel = ServerSocketChannel.open(); database; logger) {
             selector = Selector.open();
             configureServerSocketChannel(serverSocketChannel, selector);
 
             while (isServerWorking) {
                 int readyChannels = selector.select();
+                writeCompletedCommands();
+
                 if (readyChannels == 0) {
                     continue;
                 }
@@ -72,59 +126,176 @@ public class DefaultSpotifyServer implements SpotifyServerTerminatePermission {
                 Iterator<SelectionKey> keyIterator = selector.selectedKeys().iterator();
                 while (keyIterator.hasNext()) {
                     SelectionKey key = keyIterator.next();
+                    keyIterator.remove();
 
-                    if (key.isReadable()) {
+                    if (key.isReadable() || key.isWritable()) {
                         SocketChannel clientChannel = (SocketChannel) key.channel();
+                        ClientConnection connection = connections.get(key);
 
                         try {
-                            String clientInput = getClientInput(clientChannel);
-                            if (clientInput == null) {
-                                userService.logOut((User) key.attachment());
+                            if (key.isReadable() && !read(connection, clientChannel)) {
+                                disconnect(key);
                                 continue;
                             }
 
-                            logger.logClientInput(clientInput, key);
-
-                            String output;
-                            Command cmd = CommandFactory.create(clientInput, (User) key.attachment(), this);
-                            try {
-                                CommandValidator.checkCommand(cmd, key);
-
-                                output = commandExecutor.execute(cmd);
-
-                                CommandValidator.verifyLogin(cmd, key);
-                            } catch (Exception e) {
-                                logger.log(e, clientInput, key);
-                                output = e.getMessage();
+                            if (key.isWritable()) {
+                                connection.write(clientChannel);
                             }
 
-                            logger.logClientOutput(output, key);
-                            writeClientOutput(clientChannel, output);
+                            dispatchNextMessage(key, connection);
                         } catch (IOException e) {
-                            if (e.getMessage().contains("Connection reset")) {
-                                try {
-                                    userService.logOut((User) key.attachment());
-                                    clientChannel.close();
-                                    key.cancel();
-                                } catch (UserNotLoggedInException | UserNotRegisteredException ex) {
-                                    //
-                                }
-                            }
+                            disconnect(key);
                             System.out.println("Error occurred while processing client request: " + e.getMessage());
-                        } catch (UserNotLoggedInException | UserNotRegisteredException e) {
-                            // ignore - user has disconnected
                         }
                     } else if (key.isAcceptable()) {
                         accept(selector, key);
                     }
-                    keyIterator.remove();
                 }
             }
+
+            try {
+                commandExecutor.close();
+                writeCompletedCommands();
+            } finally {
+                songStreamer.close();
+            }
         } catch (IOException e) {
             System.out.println("failed to start server");
         }
     }
 
+    /**
+     * Dispatches the next whole Request of the Client, if no other Command of the Client is executing,
+     * and updates the Operations the Client's Key is interested in
+     */
+    private void dispatchNextMessage(SelectionKey key, ClientConnection connection) throws IOException {
+        if (!connection.isCommandInFlight()) {
+            String clientInput = connection.nextMessage();
+
+            if (clientInput != null) {
+                if (logRequestsAsText) {
+                    logger.logClientInput(clientInput, key);
+                }
+                dispatch(clientInput, key, connection);
+            }
+        }
+
+        key.interestOps(connection.getInterestOps());
+    }
+
+    /**
+     * Validates the Client's Command and hands it to the Command Executor
+     * <p>
+     * The Client's Requests stop being read until the Output of the Command is queued,
+     * so the Commands of a single Client are executed in the Order they were sent
+     * </p>
+     */
+    private void dispatch(String clientInput, SelectionKey key, ClientConnection connection) {
+        long dispatchedNanos = System.nanoTime();
+        Command cmd = CommandFactory.create(clientInput, (User) key.attachment(), this);
+        connection.setCommandInFlight(true);
+
+        try {
+            CommandValidator.checkCommand(cmd, key);
+        } catch (Exception e) {
+            completedCommands.add(
+                new CompletedCommand(key, cmd, clientInput, null, e, true, dispatchedNanos, System.nanoTime()));
+            selector.wakeup();
+            return;
+        }
+
+        commandExecutor.executeAsync(cmd).whenComplete((output, exception) -> {
+            Throwable cause = exception instanceof CompletionException ? exception.getCause() : exception;
+            Exception e = cause == null || cause instanceof Exception ? (Exception) cause : new Exception(cause);
+
+            completedCommands.add(
+                new CompletedCommand(key, cmd, clientInput, output, e, false, dispatchedNanos, System.nanoTime()));
+            selector.wakeup();
+        });
+    }
+
+    /**
+     * Writes the Outputs of all completed Commands to their Clients. Runs on the Selector Thread
+     */
+    private void writeCompletedCommands() {
+        CompletedCommand completed;
+
+        while ((completed = completedCommands.poll()) != null) {
+            metrics.recordSelectorQueueLatency(System.nanoTime() - completed.completedNanos());
+
+            SelectionKey key = completed.key();
+            ClientConnection connection = connections.get(key);
+            if (!key.isValid() || connection == null) {
+                logOutDisconnected(completed);
+                continue;
+            }
+
+            String output = completed.output();
+            if (completed.exception() != null) {
+                logger.log(completed.exception(), completed.clientInput(), key);
+                output = completed.exception().getMessage();
+            } else {
+                CommandValidator.verifyLogin(completed.cmd(), key);
+            }
+
+            if (logRequestsAsText) {
+                logger.logClientOutput(output, key);
+            }
+            int responseSize = connection.enqueue(output);
+            metrics.addBytesOut(responseSize);
+            connection.setCommandInFlight(false);
+            logRequest(completed, connection, responseSize);
+
+            try {
+                connection.write((SocketChannel) key.channel());
+                dispatchNextMessage(key, connection);
+            } catch (IOException e) {
+                disconnect(key);
+                System.out.println("Error occurred while processing client request: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Logs out the User of a Login that has completed after its Client has disconnected,
+     * because nothing else would ever log the User out
+     */
+    private void logOutDisconnected(CompletedCommand completed) {
+        if (completed.exception() == null && completed.cmd() instanceof LoginCommand login && login.isSuccessful()) {
+            try {
+                userService.logOut(login.getUser());
+            } catch (UserNotLoggedInException | UserNotRegisteredException e) {
+                // ignore - user has already been logged out
+            }
+        }
+    }
+
+    private boolean read(ClientConnection connection, SocketChannel clientChannel) throws IOException {
+        long bytesRead = connection.getBytesRead();
+        boolean isOpen = connection.read(clientChannel);
+
+        metrics.addBytesIn(connection.getBytesRead() - bytesRead);
+        return isOpen;
+    }
+
+    private void logRequest(CompletedCommand completed, ClientConnection connection, int responseSize) {
+        User user = (User) completed.key().attachment();
+        Exception exception = completed.exception();
+
+        RequestOutcome outcome = RequestOutcome.OK;
+        if (completed.cmd() == null) {
+            outcome = RequestOutcome.REJECTED;
+        } else if (exception != null) {
+            outcome = completed.isRejected() ? RequestOutcome.REJECTED : RequestOutcome.FAILED;
+        }
+
+        logger.logRequest(new RequestLogRecord(System.currentTimeMillis(), connection.getId(),
+            user == null ? null : user.email(), completed.cmd() == null ? null : completed.cmd().getType(),
+            (System.nanoTime() - completed.dispatchedNanos()) / 1_000, responseSize, outcome,
+            outcome == RequestOutcome.OK ? null : completed.clientInput(),
+            exception == null ? null : exception.getMessage()));
+    }
+
     @Override
     public void terminate() {
         this.isServerWorking = false;
@@ -139,29 +310,23 @@ public class DefaultSpotifyServer implements SpotifyServerTerminatePermission {
         channel.register(selector, SelectionKey.OP_ACCEPT);
     }
 
-    private String getClientInput(SocketChannel clientChannel) throws IOException {
-        buffer.clear();
-
-        int readBytes = clientChannel.read(buffer);
-        if (readBytes < 0) {
-            clientChannel.close();
-            return null;
+    /**
+     * Closes the Client's Connection and logs out the User attached to it
+     */
+    private void disconnect(SelectionKey key) {
+        ClientConnection connection = connections.remove(key);
+        if (connection != null) {
+            connection.close();
+            metrics.onConnectionClosed();
         }
 
-        buffer.flip();
-
-        byte[] clientInputBytes = new byte[buffer.remaining()];
-        buffer.get(clientInputBytes);
-
-        return new String(clientInputBytes, StandardCharsets.UTF_8);
-    }
-
-    private void writeClientOutput(SocketChannel clientChannel, String output) throws IOException {
-        buffer.clear();
-        buffer.put(output.getBytes());
-        buffer.flip();
-
-        clientChannel.write(buffer);
+        key.cancel();
+        try {
+            key.channel().close();
+            userService.logOut((User) key.attachment());
+        } catch (IOException | UserNotLoggedInException | UserNotRegisteredException e) {
+            // ignore - user has disconnected
+        }
     }
 
     private void accept(Selector selector, SelectionKey key) throws IOException {
@@ -169,7 +334,9 @@ public class DefaultSpotifyServer implements SpotifyServerTerminatePermission {
         SocketChannel accept = sockChannel.accept();
 
         accept.configureBlocking(false);
-        accept.register(selector, SelectionKey.OP_READ);
+        SelectionKey clientKey = accept.register(selector, SelectionKey.OP_READ);
+        connections.put(clientKey, new ClientConnection(++nextConnectionId, writeBufferPool));
+        metrics.onConnectionOpened();
     }
 
     @Override
@@ -182,13 +349,44 @@ public class DefaultSpotifyServer implements SpotifyServerTerminatePermission {
         return userService;
     }
 
+    @Override
+    public SongStreamer getSongStreamer() {
+        return songStreamer;
+    }
+
+    @Override
+    public ServerMetrics getMetrics() {
+        return metrics;
+    }
+
     public static void main(String[] args) {
         final int port = 6999;
 
-        DefaultSpotifyServer spotifyServer1 = new DefaultSpotifyServer(port, new CommandExecutor(),
+        DefaultSpotifyServer spotifyServer1 = new DefaultSpotifyServer(port,
+            CommandExecutor.withWorkerPool(COMMAND_WORKERS, COMMAND_QUEUE_CAPACITY),
             new InMemoryDatabase(Database.SONGS_FOLDER_DEFAULT, Database.DATABASE_FOLDER_DEFAULT,
-                Database.USERS_FILE_NAME_DEFAULT, Database.PLAYLISTS_FILE_NAME_DEFAULT));
+                Database.USERS_FILE_NAME_DEFAULT, Database.PLAYLISTS_FILE_NAME_DEFAULT),
+            Boolean.getBoolean(LOG_REQUESTS_AS_TEXT_PROPERTY));
 
         new Thread(spotifyServer1, "Spotify Server Thread").start();
     }
-}
\ No newline at end of file
+
+    private static RequestLog openRequestLog() {
+        try {
+            return new RequestLog(Path.of(REQUEST_LOG_FILE_NAME), MAX_REQUEST_LOG_FILE_BYTES, MAX_REQUEST_LOG_FILES);
+        } catch (IOException e) {
+            System.out.println("The Request Log could not be created, Requests will not be logged");
+            return null;
+        }
+    }
+
+    /**
+     * @param isRejected      true if the Command was not executed because it is invalid or not allowed
+     * @param dispatchedNanos the Time the Request was read
+     * @param completedNanos  the Time the Command was completed
+     */
+    private record CompletedCommand(SelectionKey key, Command cmd, String clientInput, String output,
+                                    Exception exception, boolean isRejected, long dispatchedNanos,
+                                    long completedNanos) {
+    }
+}
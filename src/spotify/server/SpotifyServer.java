@@ -1,18 +1,24 @@
 package spotify.server;
 
 import spotify.database.Database;
+import spotify.database.song.streamer.SongStreamer;
 import spotify.database.user.service.UserService;
+import spotify.server.metrics.ServerMetrics;
 
 /**
  * Represents the lowest Permission in the Spotify Server
  *
  * <p>
  * These Permissions allow access to the Database, logging Users in,
- * logging Users out and checking if a User is logged in
+ * logging Users out, checking if a User is logged in, streaming Songs and reading the Server's Metrics
  * </p>
  */
 public interface SpotifyServer extends Runnable {
     Database getDatabase();
 
     UserService getUserService();
+
+    SongStreamer getSongStreamer();
+
+    ServerMetrics getMetrics();
 }
@@ -0,0 +1,20 @@
+package spotify.server.command.executor;
+
+import spotify.server.command.CommandType;
+
+/**
+ * Receives the Timings of every Command executed by a {@code CommandExecutor}
+ * <p>
+ * It is called on the Thread that has executed the Command, so it must be Thread Safe and fast
+ * </p>
+ */
+public interface CommandExecutionListener {
+    /**
+     * Called after a Command has been executed, whether it has succeeded or not
+     *
+     * @param type           the Type of the Command
+     * @param queuedNanos    the Time the Command has waited for a Worker
+     * @param executionNanos the Time the Command has been executing
+     */
+    void onCommandExecuted(CommandType type, long queuedNanos, long executionNanos);
+}
@@ -1,19 +1,177 @@
 package spotify.server.command.executor;
 
 import spotify.server.command.Command;
+import spotify.server.command.thread.unsafe.LoginCommand;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Executor that executes Commands
  * null is an Invalid Command
+ * <p>
+ * An Executor constructed without Workers executes every Command in the calling Thread.
+ * An Executor constructed with Workers executes Commands asynchronously:
+ * Commands from the {@code thread.safe} Package run concurrently on the Workers and
+ * Commands from the {@code thread.unsafe} Package run one at a time on a single Thread.
+ * </p>
+ * <p>
+ * Any {@code ExecutorService} can be used as Workers, for example a Virtual Thread per Task Executor on Java 21+
+ * </p>
+ * <p>
+ * The {@code CommandExecutionListener}, if set, receives how long every Command has waited for a Worker
+ * and how long it has been executing
+ * </p>
  */
-public class CommandExecutor {
+public class CommandExecutor implements AutoCloseable {
     private static final String INVALID_COMMAND = "Invalid Command";
+    private static final String SERVER_BUSY = "The Server is busy, try again later";
+    private static final String THREAD_UNSAFE_PACKAGE = LoginCommand.class.getPackageName();
+    private static final long CLOSE_TIMEOUT_SECONDS = 10;
+    private static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+    private final ExecutorService workers;
+    private final ExecutorService serialWorker;
+    private volatile CommandExecutionListener executionListener;
+
+    /**
+     * Constructs an Executor that executes Commands in the calling Thread
+     */
+    public CommandExecutor() {
+        this(null);
+    }
+
+    /**
+     * Constructs an Executor that executes Commands asynchronously on {@code workers}<br>
+     * Up to 1024 thread unsafe Commands can wait for the single Thread, the rest are rejected
+     *
+     * @param workers the Workers for the thread safe Commands, null executes Commands in the calling Thread
+     */
+    public CommandExecutor(ExecutorService workers) {
+        this(workers, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    private CommandExecutor(ExecutorService workers, int serialQueueCapacity) {
+        this.workers = workers;
+        this.serialWorker = workers == null ? null : newBoundedExecutor(1, serialQueueCapacity,
+            "Command Serial Worker");
+    }
+
+    /**
+     * Constructs an Executor with a bounded Pool of Workers<br>
+     * Commands that do not fit in the Pool's Queue, or in the Queue of the single Thread, are rejected
+     *
+     * @param threads       the Number of Worker Threads
+     * @param queueCapacity the Number of Commands that can wait for a free Worker
+     * @return the Executor
+     */
+    public static CommandExecutor withWorkerPool(int threads, int queueCapacity) {
+        return new CommandExecutor(newBoundedExecutor(threads, queueCapacity, "Command Worker"), queueCapacity);
+    }
 
     public String execute(Command cmd) throws Exception {
+        return execute(cmd, 0);
+    }
+
+    /**
+     * Sets the Listener that receives the Timings of the executed Commands
+     *
+     * @param executionListener the Listener or null
+     */
+    public void setExecutionListener(CommandExecutionListener executionListener) {
+        this.executionListener = executionListener;
+    }
+
+    /**
+     * Executes a Command asynchronously
+     * <p>
+     * If the Executor has no Workers the Command is executed in the calling Thread
+     * and the returned Future is already completed
+     * </p>
+     *
+     * @param cmd the Command to be executed
+     * @return a Future that completes with the Command's Output or with the Exception it has thrown
+     */
+    public CompletableFuture<String> executeAsync(Command cmd) {
+        if (cmd == null || workers == null) {
+            try {
+                return CompletableFuture.completedFuture(execute(cmd));
+            } catch (Exception e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        ExecutorService executor = isThreadSafe(cmd) ? workers : serialWorker;
+        CompletableFuture<String> result = new CompletableFuture<>();
+        long submittedNanos = System.nanoTime();
+
+        try {
+            executor.execute(() -> {
+                try {
+                    result.complete(execute(cmd, System.nanoTime() - submittedNanos));
+                } catch (Exception e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            result.complete(SERVER_BUSY);
+        }
+
+        return result;
+    }
+
+    /**
+     * Waits for all submitted Commands to finish and stops the Workers
+     */
+    @Override
+    public void close() {
+        if (workers == null) {
+            return;
+        }
+
+        workers.shutdown();
+        serialWorker.shutdown();
+
+        try {
+            workers.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            serialWorker.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private String execute(Command cmd, long queuedNanos) throws Exception {
         if (cmd == null) {
             return INVALID_COMMAND;
         }
 
-        return cmd.call();
+        long startNanos = System.nanoTime();
+        try {
+            return cmd.call();
+        } finally {
+            CommandExecutionListener listener = executionListener;
+            if (listener != null) {
+                listener.onCommandExecuted(cmd.getType(), queuedNanos, System.nanoTime() - startNanos);
+            }
+        }
+    }
+
+    private static boolean isThreadSafe(Command cmd) {
+        return !cmd.getClass().getPackageName().equals(THREAD_UNSAFE_PACKAGE);
+    }
+
+    private static ExecutorService newBoundedExecutor(int threads, int queueCapacity, String name) {
+        return new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), runnable -> newWorkerThread(runnable, name));
+    }
+
+    private static Thread newWorkerThread(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
     }
 }
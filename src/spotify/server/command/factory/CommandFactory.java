@@ -4,6 +4,7 @@ import spotify.server.command.Command;
 import spotify.server.command.thread.safe.PlayCommand;
 import spotify.server.command.thread.safe.SearchCommand;
 import spotify.server.command.thread.safe.ShowPlaylistCommand;
+import spotify.server.command.thread.safe.StatsCommand;
 import spotify.server.command.thread.safe.TerminateCommand;
 import spotify.server.command.thread.safe.TopSongsCommand;
 import spotify.server.command.thread.unsafe.AddSongToPlaylistCommand;
@@ -39,6 +40,10 @@ public class CommandFactory {
             return new DisconnectCommand(user, spotifyServer);
         }
 
+        if (input.equalsIgnoreCase(StatsCommand.COMMAND)) {
+            return new StatsCommand(spotifyServer);
+        }
+
         String[] commandSplit = split(input, Command.COMMAND_SPLIT_REGEX, 2);
 
         if (commandSplit.length != 2) {
@@ -11,17 +11,33 @@ import spotify.database.user.User;
  * Play Command. Represents a Request from the User for a Song to be played
  * <p>
  * A Valid Play Request looks like this: <br>
- * play "song-name"
+ * play "song-name"<br>
+ * play "song-name" @"seconds"
+ * </p>
+ * <p>
+ * If the Seconds are given, the Song starts from them instead of from its Beginning.
+ * Seconds that are negative or more than {@code MAX_SEEK_SECONDS} are invalid.
+ * Only a Number after the last {@code SEEK_PREFIX} is taken as Seconds, anything else is Part of the Song Name
+ * (for example "Singer - Live @Home")
  * </p>
  */
 public class PlayCommand extends Command {
     public static final String COMMAND = "play";
+    public static final char SEEK_PREFIX = '@';
+    public static final double MAX_SEEK_SECONDS = 24 * 60 * 60;
+
     private final String fullSongName;
+    private final double seconds;
     private final User user;
 
     public PlayCommand(String fullSongName, User user, SpotifyServer spotifyServer) {
+        this(fullSongName, 0, user, spotifyServer);
+    }
+
+    public PlayCommand(String fullSongName, double seconds, User user, SpotifyServer spotifyServer) {
         super(spotifyServer, CommandType.PLAY_COMMAND);
         this.fullSongName = fullSongName;
+        this.seconds = seconds;
         this.user = user;
     }
 
@@ -29,17 +45,10 @@ public class PlayCommand extends Command {
     public String call() throws Exception {
         Song toPlay = spotifyServer.getDatabase().getSongBy(fullSongName);
 
-        long userStreamingPort = spotifyServer.getUserService().getPort(user);
+        SongStreamer songStreamer = spotifyServer.getSongStreamer();
+        String token = songStreamer.stream(user, toPlay, toPlay.getOffsetOf(seconds));
 
-        spotifyServer.getUserService().isPortLocked(userStreamingPort);
-
-        SongStreamer streamer = new SongStreamer((int) userStreamingPort, toPlay, spotifyServer);
-
-        Thread thread = new Thread(streamer, "Song Streamer for User: " + user);
-        thread.setDaemon(true);
-        thread.start();
-
-        return "ok " + toPlay.getAudioFormatString() + " " + userStreamingPort;
+        return "ok " + toPlay.getAudioFormatString() + " " + songStreamer.getPort() + " " + token;
     }
 
     public static PlayCommand of(String line, User user, SpotifyServer spotifyServer) {
@@ -47,13 +56,38 @@ public class PlayCommand extends Command {
             return null;
         }
 
-        return new PlayCommand(line, user, spotifyServer);
+        int seekIndex = line.lastIndexOf(SEEK_PREFIX);
+        if (seekIndex == -1) {
+            return new PlayCommand(line, user, spotifyServer);
+        }
+
+        double seconds;
+        try {
+            seconds = Double.parseDouble(line.substring(seekIndex + 1).strip());
+        } catch (NumberFormatException e) {
+            return new PlayCommand(line, user, spotifyServer); // The Prefix is Part of the Song Name
+        }
+
+        String fullSongName = line.substring(0, seekIndex).strip();
+        if (fullSongName.isEmpty()) {
+            return null;
+        }
+
+        if (!(seconds >= 0 && seconds <= MAX_SEEK_SECONDS)) {
+            return null;
+        }
+
+        return new PlayCommand(fullSongName, seconds, user, spotifyServer);
     }
 
     public String getFullSongName() {
         return fullSongName;
     }
 
+    public double getSeconds() {
+        return seconds;
+    }
+
     public User getUser() {
         return user;
     }
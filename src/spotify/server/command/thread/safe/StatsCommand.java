@@ -0,0 +1,29 @@
+package spotify.server.command.thread.safe;
+
+import spotify.server.SpotifyServer;
+import spotify.server.command.Command;
+import spotify.server.command.CommandType;
+
+/**
+ * Stats Command. Represents a Request from the User for the Metrics of the Server
+ * <p>
+ * A Valid Stats Request looks like this: <br>
+ * stats
+ * </p>
+ * <p>
+ * The Response has the Latency Percentiles of every executed Command Type, the Queueing Delays
+ * and the Counters of the Server, see {@code ServerMetrics.report}
+ * </p>
+ */
+public class StatsCommand extends Command {
+    public static final String COMMAND = "stats";
+
+    public StatsCommand(SpotifyServer spotifyServer) {
+        super(spotifyServer, CommandType.STATS_COMMAND);
+    }
+
+    @Override
+    public String call() {
+        return "Server Stats:" + System.lineSeparator() + spotifyServer.getMetrics().report();
+    }
+}
@@ -39,7 +39,7 @@ public class AddSongToPlaylistCommand extends Command {
 
         try {
             Playlist playlist = spotifyServer.getDatabase().getPlaylist(playlistName, user);
-            playlist.addSong(song);
+            spotifyServer.getDatabase().addSongToPlaylist(playlist, song);
         } catch (NoSuchPlaylistException e) {
             throw new NoSuchPlaylistException("You do not own a Playlist with the Name: " + playlistName);
         }
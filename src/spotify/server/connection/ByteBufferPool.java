@@ -0,0 +1,51 @@
+package spotify.server.connection;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * A Pool of direct Buffers with the same Size
+ * <p>
+ * Released Buffers are reused, so writing Responses does not allocate new Buffers every Time.
+ * At most {@code maxPooled} Buffers are kept, the rest are left to the Garbage Collector.
+ * </p>
+ * <p>
+ * The Pool is not Thread Safe. It is used only by the Server's Selector Thread
+ * </p>
+ */
+public class ByteBufferPool {
+    private final int bufferSize;
+    private final int maxPooled;
+    private final Deque<ByteBuffer> pooled;
+
+    public ByteBufferPool(int bufferSize, int maxPooled) {
+        this.bufferSize = bufferSize;
+        this.maxPooled = maxPooled;
+        this.pooled = new ArrayDeque<>();
+    }
+
+    /**
+     * @return a cleared Buffer from the Pool or a new one if the Pool is empty
+     */
+    public ByteBuffer acquire() {
+        ByteBuffer buffer = pooled.pollFirst();
+
+        return buffer == null ? ByteBuffer.allocateDirect(bufferSize) : buffer.clear();
+    }
+
+    /**
+     * Returns a Buffer to the Pool
+     *
+     * @param buffer the Buffer, it must not be used after it is released
+     */
+    public void release(ByteBuffer buffer) {
+        if (pooled.size() < maxPooled) {
+            pooled.addFirst(buffer);
+        }
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+}
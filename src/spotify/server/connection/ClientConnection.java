@@ -0,0 +1,199 @@
+package spotify.server.connection;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+/**
+ * The State of a single Client's Connection to the Server
+ * <p>
+ * Read Bytes are accumulated until a whole Message (see {@link MessageFrame}) has arrived,
+ * so a Request split into several Reads or several Requests in a single Read are handled correctly.
+ * </p>
+ * <p>
+ * Responses are split into pooled Buffers and queued. The Queue is written whenever the Channel
+ * is writable, so a large Response is sent in Parts without blocking the Selector Thread.
+ * </p>
+ * <p>
+ * While a Command of the Client is executing, no more Requests of the Client are read
+ * </p>
+ */
+public class ClientConnection {
+    private static final int INITIAL_READ_BUFFER_SIZE = 1024;
+
+    private final long id;
+    private final ByteBufferPool writeBufferPool;
+    private final Queue<ByteBuffer> writeQueue;
+    private ByteBuffer readBuffer;
+    private boolean commandInFlight;
+    private long bytesRead;
+
+    public ClientConnection(ByteBufferPool writeBufferPool) {
+        this(0, writeBufferPool);
+    }
+
+    /**
+     * @param id              the Id of the Connection, used in the Logs
+     * @param writeBufferPool the Pool of the Buffers the Responses are written from
+     */
+    public ClientConnection(long id, ByteBufferPool writeBufferPool) {
+        this.id = id;
+        this.writeBufferPool = writeBufferPool;
+        this.writeQueue = new ArrayDeque<>();
+        this.readBuffer = ByteBuffer.allocate(INITIAL_READ_BUFFER_SIZE);
+    }
+
+    /**
+     * Reads all available Bytes from the Channel
+     *
+     * @param channel the Client's Channel
+     * @return false if the Client has closed the Connection
+     * @throws IOException if the Channel could not be read
+     */
+    public boolean read(SocketChannel channel) throws IOException {
+        int read;
+
+        do {
+            read = channel.read(readBuffer);
+            bytesRead += Math.max(0, read);
+        } while (read > 0 && readBuffer.hasRemaining());
+
+        return read >= 0;
+    }
+
+    /**
+     * Takes the next whole Message from the read Bytes
+     *
+     * @return the Message or null if no whole Message has arrived yet
+     * @throws IOException if the Client has sent a Message that is longer than {@code MessageFrame.MAX_REQUEST_SIZE}
+     */
+    public String nextMessage() throws IOException {
+        readBuffer.flip();
+
+        try {
+            if (readBuffer.remaining() < MessageFrame.HEADER_SIZE) {
+                return null;
+            }
+
+            int length = readBuffer.getInt(readBuffer.position());
+            if (length < 0 || length > MessageFrame.MAX_REQUEST_SIZE) {
+                throw new IOException("Invalid Request Length: " + length);
+            }
+
+            if (readBuffer.remaining() < MessageFrame.HEADER_SIZE + length) {
+                ensureReadCapacity(MessageFrame.HEADER_SIZE + length);
+                return null;
+            }
+
+            byte[] message = new byte[length];
+            readBuffer.position(readBuffer.position() + MessageFrame.HEADER_SIZE).get(message);
+
+            return new String(message, StandardCharsets.UTF_8);
+        } finally {
+            readBuffer.compact();
+        }
+    }
+
+    /**
+     * Queues a Message to be written to the Client
+     *
+     * @param message the Message
+     * @return the Size of the framed Message in Bytes
+     */
+    public int enqueue(String message) {
+        byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+
+        ByteBuffer buffer = writeBufferPool.acquire();
+        buffer.putInt(bytes.length);
+
+        int offset = 0;
+        while (offset < bytes.length) {
+            if (!buffer.hasRemaining()) {
+                writeQueue.add(buffer.flip());
+                buffer = writeBufferPool.acquire();
+            }
+
+            int toPut = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, toPut);
+            offset += toPut;
+        }
+
+        writeQueue.add(buffer.flip());
+        return MessageFrame.HEADER_SIZE + bytes.length;
+    }
+
+    /**
+     * Writes as much of the queued Messages as the Channel accepts without blocking
+     *
+     * @param channel the Client's Channel
+     * @return true if everything queued has been written
+     * @throws IOException if the Channel could not be written
+     */
+    public boolean write(SocketChannel channel) throws IOException {
+        while (!writeQueue.isEmpty()) {
+            ByteBuffer buffer = writeQueue.peek();
+
+            channel.write(buffer);
+            if (buffer.hasRemaining()) {
+                return false;
+            }
+
+            writeBufferPool.release(writeQueue.poll());
+        }
+
+        return true;
+    }
+
+    /**
+     * @return the Operations the Client's Selection Key must be interested in
+     */
+    public int getInterestOps() {
+        int interestOps = commandInFlight ? 0 : SelectionKey.OP_READ;
+
+        return writeQueue.isEmpty() ? interestOps : interestOps | SelectionKey.OP_WRITE;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * @return the Number of Bytes read from the Client since the Connection was opened
+     */
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    public boolean isCommandInFlight() {
+        return commandInFlight;
+    }
+
+    public void setCommandInFlight(boolean commandInFlight) {
+        this.commandInFlight = commandInFlight;
+    }
+
+    /**
+     * Returns all queued Buffers to the Pool. Called once the Connection has been closed
+     */
+    public void close() {
+        ByteBuffer buffer;
+
+        while ((buffer = writeQueue.poll()) != null) {
+            writeBufferPool.release(buffer);
+        }
+    }
+
+    private void ensureReadCapacity(int capacity) {
+        if (readBuffer.capacity() >= capacity) {
+            return;
+        }
+
+        ByteBuffer newReadBuffer = ByteBuffer.allocate(capacity);
+        newReadBuffer.put(readBuffer);
+        readBuffer = newReadBuffer.flip();
+    }
+}
@@ -0,0 +1,81 @@
+package spotify.server.connection;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The Framing of the Messages between the Server and the Client
+ * <p>
+ * Every Message (Request or Response) is sent as a 4-byte big-endian Length followed by
+ * that many Bytes of UTF-8 Text. A Request can not be longer than {@code MAX_REQUEST_SIZE} Bytes,
+ * Responses have no Limit.
+ * </p>
+ */
+public final class MessageFrame {
+    public static final int HEADER_SIZE = Integer.BYTES;
+    public static final int MAX_REQUEST_SIZE = 64 * 1024;
+
+    private MessageFrame() {
+    }
+
+    /**
+     * Writes a whole Message to a blocking Channel
+     *
+     * @param message the Message to be written
+     * @param channel the Channel
+     * @throws IOException if the Message could not be written
+     */
+    public static void write(String message, SocketChannel channel) throws IOException {
+        byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+
+        ByteBuffer frame = ByteBuffer.allocate(HEADER_SIZE + bytes.length);
+        frame.putInt(bytes.length).put(bytes).flip();
+
+        while (frame.hasRemaining()) {
+            channel.write(frame);
+        }
+    }
+
+    /**
+     * Reads a whole Message from a blocking Channel
+     *
+     * @param channel the Channel
+     * @param buffer  a Buffer used for the Reading, its Content is overwritten
+     * @return the Message
+     * @throws IOException if the Channel has been closed or the Message could not be read
+     */
+    public static String read(SocketChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.clear().limit(HEADER_SIZE);
+        readFully(channel, buffer);
+
+        int length = buffer.flip().getInt();
+        if (length < 0) {
+            throw new IOException("Invalid Message Length: " + length);
+        }
+
+        byte[] message = new byte[length];
+        int offset = 0;
+
+        while (offset < length) {
+            buffer.clear().limit(Math.min(buffer.capacity(), length - offset));
+            readFully(channel, buffer);
+
+            int read = buffer.flip().remaining();
+            buffer.get(message, offset, read);
+            offset += read;
+        }
+
+        return new String(message, StandardCharsets.UTF_8);
+    }
+
+    private static void readFully(SocketChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("The Connection has been closed");
+            }
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package spotify.server.exceptions;
+
+public class UserCurrentlyStreamingException extends Exception {
+    public UserCurrentlyStreamingException(String message) {
+        super(message);
+    }
+}
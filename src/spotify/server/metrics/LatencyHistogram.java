@@ -0,0 +1,111 @@
+package spotify.server.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free Histogram of Latencies in Nanoseconds with a Precision of about 3%
+ * <p>
+ * The Buckets are log-linear, like in an HDR Histogram: Values below {@code 2 * SUB_BUCKETS} have a Bucket each,
+ * every larger Power of Two is split into {@code SUB_BUCKETS} equal Buckets. Recording a Value finds its Bucket
+ * with a few Bit Operations and increments it atomically, so it never allocates and never blocks.
+ * </p>
+ * <p>
+ * Values above {@code MAX_EXPONENT} (about 9 Hours) are counted in the last Bucket.
+ * Reading a Percentile while Values are recorded gives a Result that is at most off by the concurrent Values
+ * </p>
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_BUCKETS = 2 * SUB_BUCKETS;
+    private static final int FIRST_EXPONENT = SUB_BUCKET_BITS + 1;
+    private static final int MAX_EXPONENT = 44;
+    private static final int BUCKETS = LINEAR_BUCKETS + (MAX_EXPONENT - FIRST_EXPONENT + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts;
+    private final AtomicLong totalCount;
+    private final AtomicLong maxValue;
+
+    public LatencyHistogram() {
+        counts = new AtomicLongArray(BUCKETS);
+        totalCount = new AtomicLong();
+        maxValue = new AtomicLong();
+    }
+
+    /**
+     * Records a Latency
+     *
+     * @param nanos the Latency in Nanoseconds, negative Values are recorded as 0
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+
+        counts.incrementAndGet(getBucket(value));
+        totalCount.incrementAndGet();
+        maxValue.accumulateAndGet(value, Math::max);
+    }
+
+    public long getCount() {
+        return totalCount.get();
+    }
+
+    public long getMax() {
+        return maxValue.get();
+    }
+
+    /**
+     * @param percentile the Percentile between 0 and 100, for example 99.9
+     * @return the highest Value of the Bucket that contains the Percentile (but not more than the Maximum),
+     * 0 if nothing has been recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        long[] snapshot = new long[BUCKETS];
+        long count = 0;
+        for (int bucket = 0; bucket < BUCKETS; ++bucket) {
+            snapshot[bucket] = counts.get(bucket);
+            count += snapshot[bucket];
+        }
+
+        if (count == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(Math.min(100, Math.max(0, percentile)) / 100 * count));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; ++bucket) {
+            seen += snapshot[bucket];
+            if (seen >= rank) {
+                return Math.min(getHighestValue(bucket), getMax());
+            }
+        }
+
+        return getMax();
+    }
+
+    static int getBucket(long value) {
+        if (value < LINEAR_BUCKETS) {
+            return (int) value;
+        }
+
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) - SUB_BUCKETS;
+        return LINEAR_BUCKETS + (exponent - FIRST_EXPONENT) * SUB_BUCKETS + subBucket;
+    }
+
+    static long getHighestValue(int bucket) {
+        if (bucket < LINEAR_BUCKETS) {
+            return bucket;
+        }
+
+        int exponent = (bucket - LINEAR_BUCKETS) / SUB_BUCKETS + FIRST_EXPONENT;
+        long subBucket = (bucket - LINEAR_BUCKETS) % SUB_BUCKETS + SUB_BUCKETS;
+        int shift = exponent - SUB_BUCKET_BITS;
+
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,171 @@
+package spotify.server.metrics;
+
+import spotify.server.command.CommandType;
+import spotify.server.command.executor.CommandExecutionListener;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The Metrics of a running Server
+ * <p>
+ * For every Command Type a {@code LatencyHistogram} of how long its Commands have been executing is kept.
+ * Two more Histograms show the Queueing Delays: how long Commands have waited for a free Worker and how long
+ * their Output has waited for the Selector Thread before it was queued to the Client.
+ * Counters keep the Bytes read from and written to the Clients and the open Connections.
+ * </p>
+ * <p>
+ * The {@code StreamingMetrics} of the Song Streamer are reported with them, so that the Bandwidth the Streams need
+ * can be compared to what is sent and Listeners that are starved show up as Write Stalls and Underruns.
+ * The Rate the Streams are sent at is measured over the last Seconds, so it shows the current Listeners
+ * and not an Average over the whole Uptime. Reporting does not change any Metric, so every Caller sees the same Rate
+ * </p>
+ * <p>
+ * Recording never allocates and never blocks. Only {@code report} does, it is called by the {@code stats} Command
+ * </p>
+ */
+public class ServerMetrics implements CommandExecutionListener {
+    private static final double[] PERCENTILES = {50, 99, 99.9};
+    private static final String[] PERCENTILE_NAMES = {"p50", "p99", "p999"};
+    private static final long NANOS_PER_MILLI = 1_000_000;
+
+    private final Map<CommandType, LatencyHistogram> executionLatencies;
+    private final LatencyHistogram workerQueueLatency;
+    private final LatencyHistogram selectorQueueLatency;
+
+    private final LongAdder bytesIn;
+    private final LongAdder bytesOut;
+    private final AtomicInteger openConnections;
+    private final StreamingMetrics streamingMetrics;
+    private final long startMillis;
+
+    /**
+     * @param streamingMetrics the Metrics of the Song Streamer
+     */
+    public ServerMetrics(StreamingMetrics streamingMetrics) {
+        this.executionLatencies = new EnumMap<>(CommandType.class);
+        for (CommandType type : CommandType.values()) {
+            executionLatencies.put(type, new LatencyHistogram());
+        }
+
+        this.workerQueueLatency = new LatencyHistogram();
+        this.selectorQueueLatency = new LatencyHistogram();
+        this.bytesIn = new LongAdder();
+        this.bytesOut = new LongAdder();
+        this.openConnections = new AtomicInteger();
+        this.streamingMetrics = streamingMetrics;
+        this.startMillis = System.currentTimeMillis();
+    }
+
+    @Override
+    public void onCommandExecuted(CommandType type, long queuedNanos, long executionNanos) {
+        executionLatencies.get(type).record(executionNanos);
+        workerQueueLatency.record(queuedNanos);
+    }
+
+    /**
+     * Records how long the Output of a completed Command has waited for the Selector Thread
+     *
+     * @param nanos the Delay in Nanoseconds
+     */
+    public void recordSelectorQueueLatency(long nanos) {
+        selectorQueueLatency.record(nanos);
+    }
+
+    public void addBytesIn(long bytes) {
+        bytesIn.add(bytes);
+    }
+
+    public void addBytesOut(long bytes) {
+        bytesOut.add(bytes);
+    }
+
+    public void onConnectionOpened() {
+        openConnections.incrementAndGet();
+    }
+
+    public void onConnectionClosed() {
+        openConnections.decrementAndGet();
+    }
+
+    public LatencyHistogram getExecutionLatency(CommandType type) {
+        return executionLatencies.get(type);
+    }
+
+    public long getBytesIn() {
+        return bytesIn.sum();
+    }
+
+    public long getBytesOut() {
+        return bytesOut.sum();
+    }
+
+    public int getOpenConnections() {
+        return openConnections.get();
+    }
+
+    public StreamingMetrics getStreamingMetrics() {
+        return streamingMetrics;
+    }
+
+    /**
+     * Constructs a Report of all Metrics. Command Types that have not been executed are left out
+     * <p>
+     * A Report looks like this:<br>
+     * Uptime: 42s, Connections: 3, Bytes In: 1204, Bytes Out: 48211<br>
+     * Streams: 1, Needed: 96000 B/s, Sent: 2830000 B (95940 B/s over the last 10s), Zero Writes: 0,
+     * Partial Writes: 4, Underruns: 0<br>
+     * search: count=12 p50=0.41ms p99=1.21ms p999=1.21ms max=1.30ms<br>
+     * worker-queue: count=15 p50=0.01ms p99=0.09ms p999=0.09ms max=0.09ms<br>
+     * stream-first-byte: count=3 p50=12.03ms p99=40.12ms p999=40.12ms max=40.12ms
+     * </p>
+     *
+     * @return the Report
+     */
+    public String report() {
+        StringBuilder report = new StringBuilder();
+
+        report.append("Uptime: ").append((System.currentTimeMillis() - startMillis) / 1000).append('s')
+            .append(", Connections: ").append(getOpenConnections())
+            .append(", Bytes In: ").append(getBytesIn())
+            .append(", Bytes Out: ").append(getBytesOut()).append(System.lineSeparator());
+
+        report.append("Streams: ").append(streamingMetrics.getActiveStreams())
+            .append(", Needed: ").append(streamingMetrics.getRequiredBytesPerSecond()).append(" B/s")
+            .append(", Sent: ").append(streamingMetrics.getBytesSent()).append(" B (")
+            .append(streamingMetrics.getRecentBytesPerSecond(System.nanoTime())).append(" B/s over the last ")
+            .append(StreamingMetrics.RATE_WINDOW_SECONDS).append("s)")
+            .append(", Zero Writes: ").append(streamingMetrics.getZeroWrites())
+            .append(", Partial Writes: ").append(streamingMetrics.getPartialWrites())
+            .append(", Underruns: ").append(streamingMetrics.getUnderruns()).append(System.lineSeparator());
+
+        for (Map.Entry<CommandType, LatencyHistogram> entry : executionLatencies.entrySet()) {
+            appendHistogram(report, entry.getKey().getAsString(), entry.getValue());
+        }
+        appendHistogram(report, "worker-queue", workerQueueLatency);
+        appendHistogram(report, "selector-queue", selectorQueueLatency);
+        appendHistogram(report, "stream-first-byte", streamingMetrics.getTimeToFirstByte());
+
+        return report.toString();
+    }
+
+    private static void appendHistogram(StringBuilder report, String name, LatencyHistogram histogram) {
+        if (histogram.getCount() == 0) {
+            return;
+        }
+
+        report.append(name).append(": count=").append(histogram.getCount());
+        for (int i = 0; i < PERCENTILES.length; ++i) {
+            report.append(' ').append(PERCENTILE_NAMES[i]).append('=')
+                .append(toMillis(histogram.getValueAtPercentile(PERCENTILES[i])));
+        }
+        report.append(" max=").append(toMillis(histogram.getMax())).append(System.lineSeparator());
+    }
+
+    private static String toMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.2fms", (double) nanos / NANOS_PER_MILLI);
+    }
+}
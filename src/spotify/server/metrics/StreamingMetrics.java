@@ -0,0 +1,162 @@
+package spotify.server.metrics;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The Metrics of the Streams of a {@code SongStreamer}
+ * <p>
+ * Keeps the Number of active Streams and the Byte Rate they need together, the Bytes sent, the Time from
+ * a {@code play} Request to the first Byte of its Stream and the Write Stalls: Writes that did not send
+ * anything or only a Part of the Bytes because the Socket Buffer of the Listener was full.
+ * </p>
+ * <p>
+ * An Underrun is counted when a Stream falls behind the Rate its Song is played at, that is when it has sent
+ * less than the Song's Byte Rate * the Time since its first Byte. The Listener has run out of Audio at that Point.
+ * </p>
+ * <p>
+ * The Bytes sent are also counted per Second for the last {@code RATE_WINDOW_SECONDS} Seconds, so the Rate the
+ * Streams are sent at now can be read at any Time without a Reader resetting it for the others
+ * </p>
+ * <p>
+ * Recorded only by the Reactor Thread of the {@code SongStreamer}, read by any Thread
+ * </p>
+ */
+public class StreamingMetrics {
+    public static final int RATE_WINDOW_SECONDS = 10;
+    private static final long NANOS_PER_SECOND = 1_000_000_000;
+
+    private final AtomicInteger activeStreams;
+    private final AtomicLong requiredBytesPerSecond;
+    private final AtomicLong bytesSent;
+    private final AtomicLong zeroWrites;
+    private final AtomicLong partialWrites;
+    private final AtomicLong underruns;
+    private final LatencyHistogram timeToFirstByte;
+    private final AtomicLongArray bytesBySecond;
+    private final AtomicLongArray secondOfSlot;
+
+    public StreamingMetrics() {
+        activeStreams = new AtomicInteger();
+        requiredBytesPerSecond = new AtomicLong();
+        bytesSent = new AtomicLong();
+        zeroWrites = new AtomicLong();
+        partialWrites = new AtomicLong();
+        underruns = new AtomicLong();
+        timeToFirstByte = new LatencyHistogram();
+
+        // One more Slot for the current Second, which is still being recorded
+        bytesBySecond = new AtomicLongArray(RATE_WINDOW_SECONDS + 1);
+        secondOfSlot = new AtomicLongArray(RATE_WINDOW_SECONDS + 1);
+        for (int slot = 0; slot < secondOfSlot.length(); ++slot) {
+            secondOfSlot.set(slot, Long.MIN_VALUE);
+        }
+    }
+
+    /**
+     * @param bytesPerSecond the Byte Rate of the Song (Frame Rate * Frame Size)
+     */
+    public void onStreamStarted(long bytesPerSecond) {
+        activeStreams.incrementAndGet();
+        requiredBytesPerSecond.addAndGet(bytesPerSecond);
+    }
+
+    /**
+     * @param bytesPerSecond the Byte Rate of the Song (Frame Rate * Frame Size)
+     */
+    public void onStreamFinished(long bytesPerSecond) {
+        activeStreams.decrementAndGet();
+        requiredBytesPerSecond.addAndGet(-bytesPerSecond);
+    }
+
+    /**
+     * Records a Write to a Stream
+     *
+     * @param requested the Number of Bytes that should have been sent
+     * @param written   the Number of Bytes that were sent
+     * @param nowNanos  the Time of the Write from {@code System.nanoTime}
+     */
+    public void onWrite(long requested, long written, long nowNanos) {
+        bytesSent.addAndGet(written);
+
+        if (written == 0) {
+            zeroWrites.incrementAndGet();
+            return;
+        } else if (written < requested) {
+            partialWrites.incrementAndGet();
+        }
+
+        long second = Math.floorDiv(nowNanos, NANOS_PER_SECOND);
+        int slot = getSlot(second);
+        if (secondOfSlot.get(slot) != second) {
+            bytesBySecond.set(slot, 0);
+            secondOfSlot.set(slot, second);
+        }
+        bytesBySecond.addAndGet(slot, written);
+    }
+
+    /**
+     * @param nanos the Time from the {@code play} Request to the first Byte sent to the Listener
+     */
+    public void recordTimeToFirstByte(long nanos) {
+        timeToFirstByte.record(nanos);
+    }
+
+    public void onUnderrun() {
+        underruns.incrementAndGet();
+    }
+
+    public int getActiveStreams() {
+        return activeStreams.get();
+    }
+
+    /**
+     * @return the Byte Rate all active Streams need together
+     */
+    public long getRequiredBytesPerSecond() {
+        return requiredBytesPerSecond.get();
+    }
+
+    public long getBytesSent() {
+        return bytesSent.get();
+    }
+
+    /**
+     * @param nowNanos the Time from {@code System.nanoTime}
+     * @return the Byte Rate sent in the last {@code RATE_WINDOW_SECONDS} whole Seconds before {@code nowNanos}
+     */
+    public long getRecentBytesPerSecond(long nowNanos) {
+        long currentSecond = Math.floorDiv(nowNanos, NANOS_PER_SECOND);
+        long bytes = 0;
+
+        for (long second = currentSecond - RATE_WINDOW_SECONDS; second < currentSecond; ++second) {
+            int slot = getSlot(second);
+            if (secondOfSlot.get(slot) == second) {
+                bytes += bytesBySecond.get(slot);
+            }
+        }
+
+        return bytes / RATE_WINDOW_SECONDS;
+    }
+
+    public long getZeroWrites() {
+        return zeroWrites.get();
+    }
+
+    public long getPartialWrites() {
+        return partialWrites.get();
+    }
+
+    public long getUnderruns() {
+        return underruns.get();
+    }
+
+    public LatencyHistogram getTimeToFirstByte() {
+        return timeToFirstByte;
+    }
+
+    private int getSlot(long second) {
+        return (int) Math.floorMod(second, (long) bytesBySecond.length());
+    }
+}
@@ -5,6 +5,7 @@ import spotify.database.playlist.PlaylistBase;
 import spotify.database.playlist.exceptions.NoSuchPlaylistException;
 import spotify.database.playlist.exceptions.PlaylistAlreadyExistsException;
 import spotify.database.song.Song;
+import spotify.database.song.catalog.SongCatalog;
 import spotify.database.song.exceptions.SongNotFoundException;
 import spotify.database.user.User;
 import spotify.database.user.exceptions.InvalidEmailException;
@@ -13,6 +14,7 @@ import spotify.database.user.exceptions.UserNotRegisteredException;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import javax.sound.sampled.AudioFormat;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
@@ -24,6 +26,7 @@ import java.util.Set;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -117,6 +120,11 @@ public class DatabaseTest {
         assertEquals(song1, database.getSongBy("Song1 - Song1"));
     }
 
+    @Test
+    void testGetSongByIgnoresCasesAndWhitespaces() throws SongNotFoundException {
+        assertEquals(song2, database.getSongBy("  sOnG2-song2  "), "Song not found by its normalized Name");
+    }
+
     @Test
     void testGetSongByThrowsSongNotFoundExceptionWhenSongFullNameIsIncorrect() {
         assertThrows(SongNotFoundException.class, () -> database.getSongBy(TEST_STRING),
@@ -247,6 +255,68 @@ public class DatabaseTest {
         assertTrue(expected3.containsAll(database.filterSongsBasedOn("1", "3")), "The Returned Songs were not correct");
     }
 
+    @Test
+    void testSongFileChangesReplaceAndRemoveSongs() throws SongNotFoundException {
+        AudioFormat audioFormat = new AudioFormat(48000, 16, 1, true, false);
+        Song added = new Song("Live", "Watcher", "Watcher - Live.wav", audioFormat);
+        Song modified = new Song("Live", "Watcher", "Watcher - Live.wav", audioFormat);
+
+        database.onSongFileChanged("Watcher - Live.wav", added);
+        assertEquals(added, database.getSongBy("Watcher - Live"), "An added Song File must be in the Database");
+
+        database.onSongFileChanged("Watcher - Live.wav", modified);
+        assertSame(modified, database.getSongBy("Watcher - Live"), "A modified Song File must replace its Song");
+        assertEquals(1, database.filterSongsBasedOn("watcher").size(), "The old Song must be removed from Searches");
+
+        database.onSongFileRemoved("Watcher - Live.wav");
+        assertFalse(database.doesSongExist(modified), "A deleted Song File must be removed from the Database");
+        assertTrue(database.filterSongsBasedOn("watcher").isEmpty(), "A deleted Song must not be found");
+    }
+
+    @Test
+    void testModifiedSongFileKeepsTheStreamsCount() throws SongNotFoundException {
+        AudioFormat audioFormat = new AudioFormat(48000, 16, 1, true, false);
+        Song streamed = new Song("Counted", "Watcher", "Watcher - Counted.wav", audioFormat);
+
+        database.onSongFileChanged("Watcher - Counted.wav", streamed);
+        streamed.stream();
+        streamed.stream();
+
+        Song modified = new Song("Counted", "Watcher", "Watcher - Counted.wav", audioFormat);
+        database.onSongFileChanged("Watcher - Counted.wav", modified);
+        modified.stream();
+
+        assertSame(modified, database.getSongBy("Watcher - Counted"), "A modified Song File must replace its Song");
+        assertEquals(3, modified.getStreams(), "The Streams of the replaced Song must be kept");
+
+        database.onSongFileRemoved("Watcher - Counted.wav");
+    }
+
+    @Test
+    void testSongFilesChangedWhileRunningAreSavedInTheCatalog() throws IOException {
+        Path songsFolder = Files.createTempDirectory("catalogSongs");
+        String catalogDatabaseFolder = "testCatalogDatabaseFolder/";
+        String fileName = "Catalog - Song.wav";
+
+        InMemoryDatabase watched = new InMemoryDatabase(songsFolder + "/", catalogDatabaseFolder,
+            "testUsersFile.txt", "testPlaylistsFile.txt");
+        try {
+            Path songFile = Files.copy(Path.of("My - Recording.wav"), songsFolder.resolve(fileName));
+            Song song = new Song("Song", "Catalog", fileName, new AudioFormat(48000, 16, 1, true, false));
+            watched.onSongFileChanged(fileName, song);
+            song.stream();
+            watched.close();
+
+            Song saved = SongCatalog.read(Path.of(catalogDatabaseFolder + "catalog.dat"))
+                .get(fileName, Files.size(songFile), Files.getLastModifiedTime(songFile).toMillis());
+            assertEquals(song, saved, "A Song File added while running must be saved in the Catalog");
+            assertEquals(1, saved.getStreams(), "The Streams of the added Song must be saved");
+        } finally {
+            deleteDirectoryRecursively(songsFolder);
+            deleteDirectoryRecursively(Path.of(catalogDatabaseFolder));
+        }
+    }
+
     @Test
     void testDoesUserExistWorkCorrectly() {
         assertTrue(database.doesUserExist(user), "False was returned when a User exists");
@@ -254,6 +324,34 @@ public class DatabaseTest {
             "True was returned when a User does not exists");
     }
 
+    @Test
+    void testJournalIsReplayedWhenDatabaseWasNotClosed()
+        throws UserAlreadyExistsException, InvalidEmailException, PlaylistAlreadyExistsException,
+        UserNotRegisteredException, SongNotFoundException, NoSuchPlaylistException, IOException {
+        String journalDatabaseFolder = "testJournalDatabaseFolder/";
+        User journalUser = new User("journal@User", "journalUser");
+
+        InMemoryDatabase crashed =
+            new InMemoryDatabase("", journalDatabaseFolder, "testUsersFile.txt", "testPlaylistsFile.txt");
+        crashed.registerUser(journalUser.email(), journalUser.password());
+        Playlist playlist = crashed.createPlaylist("journaled", journalUser);
+        Song song = crashed.getSongBy("My - Recording");
+        crashed.addSongToPlaylist(playlist, song);
+
+        InMemoryDatabase restarted =
+            new InMemoryDatabase("", journalDatabaseFolder, "testUsersFile.txt", "testPlaylistsFile.txt");
+
+        try {
+            assertTrue(restarted.doesUserExist(journalUser), "The registered User was not replayed");
+            assertIterableEquals(List.of(song), restarted.getPlaylist("journaled", journalUser).getSongs(),
+                "The Playlist and its Songs were not replayed");
+        } finally {
+            crashed.close();
+            restarted.close();
+            deleteDirectoryRecursively(Path.of(journalDatabaseFolder));
+        }
+    }
+
     @Test
     void testCloseCreatesFiles() throws IOException {
         database.close();
@@ -0,0 +1,98 @@
+package spotify.database.journal;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class JournalTest {
+    private static final Path JOURNAL_FOLDER = Path.of("testJournal");
+
+    private final JournalRecord registered = new JournalRecord(JournalRecordType.REGISTER_USER, "a@b,password");
+    private final JournalRecord created = new JournalRecord(JournalRecordType.CREATE_PLAYLIST, "a@b,password:mix:");
+
+    @BeforeEach
+    void setUp() throws IOException {
+        deleteJournalFolder();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        deleteJournalFolder();
+    }
+
+    @Test
+    void testReadAllReturnsTheAppendedRecords() {
+        try (Journal journal = new Journal(JOURNAL_FOLDER, 100, () -> { })) {
+            journal.append(registered);
+            journal.append(created);
+        }
+
+        assertEquals(List.of(registered, created), new Journal(JOURNAL_FOLDER, 100, () -> { }).readAll(),
+            "The Records must be read in the Order they were appended");
+    }
+
+    @Test
+    void testReadAllSkipsARecordCutInTheMiddleOfItsPayload() throws IOException {
+        try (Journal journal = new Journal(JOURNAL_FOLDER, 100, () -> { })) {
+            journal.append(created);
+            journal.append(registered);
+        }
+
+        Path segment = JOURNAL_FOLDER.resolve("1.log");
+        String content = Files.readString(segment, StandardCharsets.UTF_8);
+        String cut = content.substring(0, content.lastIndexOf("password"));
+        Files.writeString(segment, cut + "passw", StandardCharsets.UTF_8);
+
+        assertEquals(List.of(created), new Journal(JOURNAL_FOLDER, 100, () -> { }).readAll(),
+            "A Record that was cut by a Crash must not be replayed");
+    }
+
+    @Test
+    void testReadAllSkipsARecordCutInTheMiddleOfACharacter() throws IOException {
+        JournalRecord named = new JournalRecord(JournalRecordType.CREATE_PLAYLIST, "a@b,password:Пиано:");
+        try (Journal journal = new Journal(JOURNAL_FOLDER, 100, () -> { })) {
+            journal.append(created);
+            journal.append(named);
+        }
+
+        Path segment = JOURNAL_FOLDER.resolve("1.log");
+        byte[] content = Files.readAllBytes(segment);
+        int tailSize = ("Пиано:" + System.lineSeparator()).getBytes(StandardCharsets.UTF_8).length;
+        Files.write(segment, Arrays.copyOf(content, content.length - tailSize + 1));
+
+        assertEquals(List.of(created), new Journal(JOURNAL_FOLDER, 100, () -> { }).readAll(),
+            "A Record cut in the Middle of a multi-byte Character must be skipped, not fail the whole Journal");
+    }
+
+    @Test
+    void testOfThrowsWhenTheChecksumDoesNotMatch() {
+        String line = registered.toLine().replace("password", "passwort");
+
+        assertThrows(IllegalArgumentException.class, () -> JournalRecord.of(line),
+            "A damaged Record must be rejected");
+    }
+
+    private static void deleteJournalFolder() throws IOException {
+        if (!Files.exists(JOURNAL_FOLDER)) {
+            return;
+        }
+
+        try (Stream<Path> files = Files.walk(JOURNAL_FOLDER)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+}
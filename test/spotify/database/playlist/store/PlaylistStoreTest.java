@@ -0,0 +1,94 @@
+package spotify.database.playlist.store;
+
+import org.junit.jupiter.api.Test;
+import spotify.database.playlist.Playlist;
+import spotify.database.playlist.PlaylistBase;
+import spotify.database.song.Song;
+import spotify.database.user.User;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PlaylistStoreTest {
+    private static final int THREADS_COUNT = 8;
+
+    private final User user1 = new User("user1@mail.com", "123");
+    private final User user2 = new User("user2@mail.com", "123");
+
+    @Test
+    void testGetFindsThePlaylistIgnoringCase() {
+        PlaylistStore store = new PlaylistStore();
+        Playlist playlist = new PlaylistBase("myPlaylist", user1);
+
+        assertTrue(store.add(playlist), "A new Playlist must be added");
+
+        assertSame(playlist, store.get(user1, "MYPLAYLIST"), "The Playlist must be found by its Owner");
+        assertSame(playlist, store.getByName("myplaylist"), "The Playlist must be found by its Name");
+        assertTrue(store.contains(new PlaylistBase("MyPlaylist", user1)), "The Playlist must exist");
+
+        assertNull(store.get(user2, "myPlaylist"), "Another User must not have the Playlist");
+        assertFalse(store.hasPlaylists(user2), "Another User must not have Playlists");
+    }
+
+    @Test
+    void testAddRejectsAPlaylistWithTheSameNameOfTheSameOwner() {
+        PlaylistStore store = new PlaylistStore();
+        Playlist first = new PlaylistBase("myPlaylist", user1);
+        Playlist other = new PlaylistBase("myPlaylist", user2);
+
+        store.add(first);
+
+        assertFalse(store.add(new PlaylistBase("MYPLAYLIST", user1)), "The Owner already has the Playlist");
+        assertTrue(store.add(other), "Another User may have a Playlist with the same Name");
+
+        assertSame(first, store.getByName("myPlaylist"), "The Name Index must keep the first Playlist");
+        assertSame(other, store.get(user2, "myPlaylist"), "The Playlist of the other User must be found");
+        assertEquals(2, store.getAll().size(), "Both Playlists must be stored");
+    }
+
+    @Test
+    void testMergeAddsTheSongsToTheExistingPlaylist() {
+        PlaylistStore store = new PlaylistStore();
+        Playlist playlist = new PlaylistBase("myPlaylist", user1);
+        Song song = new Song("Song", "Singer");
+        Playlist toMerge = new PlaylistBase("myPlaylist", user1);
+        toMerge.addSong(song);
+
+        store.add(playlist);
+        store.merge(toMerge);
+
+        assertSame(playlist, store.get(user1, "myPlaylist"), "The existing Playlist must be kept");
+        assertTrue(playlist.containsSong(song), "The Songs must be merged into the existing Playlist");
+    }
+
+    @Test
+    void testOnlyOneConcurrentAddOfTheSamePlaylistSucceeds() throws InterruptedException, ExecutionException {
+        PlaylistStore store = new PlaylistStore();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS_COUNT);
+
+        try {
+            Callable<Boolean> add = () -> store.add(new PlaylistBase("myPlaylist", user1));
+            List<Future<Boolean>> results = executor.invokeAll(Collections.nCopies(THREADS_COUNT, add));
+
+            int added = 0;
+            for (Future<Boolean> result : results) {
+                added += result.get() ? 1 : 0;
+            }
+
+            assertEquals(1, added, "Exactly one of the concurrent Adds must succeed");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -8,6 +8,8 @@ import javax.sound.sampled.AudioFormat;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -28,6 +30,32 @@ public class SongTest {
             "Song Audio Format not extracted correctly");
     }
 
+    @Test
+    void testSongOfFindsTheAudioDataOffset() throws SongNotFoundException {
+        Song actual = Song.of("", "My - Recording.wav");
+
+        assertEquals(110, actual.getDataOffset(), "The Audio Data starts after the Header and the LIST Chunk");
+    }
+
+    @Test
+    void testGetOffsetOfIsFrameAligned() {
+        Song withData = new Song("Recording", "My", "My - Recording.wav", audioFormat, 110);
+
+        assertEquals(110, withData.getOffsetOf(0), "The first Frame must start at the Data Offset");
+        assertEquals(110 + 48000 * 2, withData.getOffsetOf(1), "One Second is 48000 Frames of 2 Bytes");
+        assertEquals(110 + 2 * 2, withData.getOffsetOf(0.00005), "The Offset must be aligned to a Frame");
+    }
+
+    @Test
+    void testGetOffsetOfSaturatesInsteadOfOverflowing() {
+        Song withData = new Song("Recording", "My", "My - Recording.wav", audioFormat, 110);
+
+        assertEquals(Long.MAX_VALUE, withData.getOffsetOf(150_000_000_000_000.0),
+            "An Offset that does not fit in a long must be after the End of the Song");
+        assertEquals(Long.MAX_VALUE, withData.getOffsetOf(Double.POSITIVE_INFINITY),
+            "An Offset that does not fit in a long must be after the End of the Song");
+    }
+
     @Test
     void testSongOfThrowsSongNotFoundExceptionWhenFileNameDoesNotExist() {
         assertThrows(SongNotFoundException.class, () -> Song.of("", "a song that - does not exist.wav"),
@@ -39,4 +67,28 @@ public class SongTest {
         assertTrue(song.doFiltersApply("cord", "alabala"), "Expected true when the Filter applies");
         assertFalse(song.doFiltersApply("end", "alabala"), "Expected false when the Filter does not applies");
     }
+
+    @Test
+    void testEqualsAndHashCodeIgnoreCasesAndWhitespaces() {
+        Song other = new Song("  KiNg of THE fAll", "the WEEKND    ");
+        Song expected = new Song("King Of The Fall", "The Weeknd");
+
+        assertEquals(expected, other, "Songs with the same Name and Singer must be equal");
+        assertEquals(expected.hashCode(), other.hashCode(), "Equal Songs must have equal Hash Codes");
+    }
+
+    @Test
+    void testHashCodeDependsOnSingerName() {
+        Song first = new Song("Song", "Singer1");
+        Song second = new Song("Song", "Singer2");
+
+        assertNotEquals(first.hashCode(), second.hashCode(), "The Singer Name must be included in the Hash Code");
+    }
+
+    @Test
+    void testKeyOfFullNameMatchesSongKey() {
+        assertEquals(song.getKey(), Song.keyOf("  mY   -  RECORDING "), "Full Name not normalized correctly");
+        assertNull(Song.keyOf("My Recording"), "Null expected when there is no Dash");
+        assertNull(Song.keyOf("My -   "), "Null expected when there is no Song Name");
+    }
 }
@@ -0,0 +1,132 @@
+package spotify.database.song.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import spotify.database.song.Song;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SongAudioCacheTest {
+    private static final int SONG_SIZE = 100;
+    private static final long LOAD_TIMEOUT_MILLIS = 2000;
+
+    private final Song song1 = new Song("Song1", "Singer");
+    private final Song song2 = new Song("Song2", "Singer");
+    private final Song song3 = new Song("Song3", "Singer");
+
+    private Path file1;
+    private Path file2;
+    private Path file3;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file1 = createSongFile((byte) 1);
+        file2 = createSongFile((byte) 2);
+        file3 = createSongFile((byte) 3);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(file1);
+        Files.deleteIfExists(file2);
+        Files.deleteIfExists(file3);
+    }
+
+    @Test
+    void testGetReturnsTheLoadedAudio() {
+        SongAudioCache cache = new SongAudioCache(SONG_SIZE * 2);
+
+        assertNull(cache.get(song1), "A Song that has not been loaded must not be cached");
+
+        loadAndWait(cache, song1, file1);
+        ByteBuffer audio = cache.get(song1);
+
+        assertEquals(SONG_SIZE, audio.remaining(), "The whole Audio File must be cached");
+        assertEquals(1, audio.get(SONG_SIZE - 1), "The cached Audio does not match the File");
+        assertEquals(SONG_SIZE, cache.get(song1).remaining(), "Every Caller must get its own View");
+    }
+
+    @Test
+    void testLoadEvictsTheLeastRecentlyUsedSongWhenTheBudgetIsFull() {
+        SongAudioCache cache = new SongAudioCache(SONG_SIZE * 2);
+
+        loadAndWait(cache, song1, file1);
+        loadAndWait(cache, song2, file2);
+        loadAndWait(cache, song3, file3);
+
+        assertFalse(cache.contains(song1), "The least recently used Song must be evicted");
+        assertTrue(cache.contains(song2), "A recently used Song must not be evicted");
+        assertTrue(cache.contains(song3), "The loaded Song was not admitted");
+        assertEquals(SONG_SIZE * 2, cache.getUsedBytes(), "The Cache must not exceed its Budget");
+    }
+
+    @Test
+    void testLoadDoesNotAdmitSongsStreamedLessThanTheirVictims() {
+        SongAudioCache cache = new SongAudioCache(SONG_SIZE);
+        song1.stream();
+        song1.stream();
+
+        loadAndWait(cache, song1, file1);
+        cache.load(song2, file2);
+        sleep();
+
+        assertTrue(cache.contains(song1), "A frequently streamed Song must not be evicted by a less streamed one");
+        assertFalse(cache.contains(song2), "A less streamed Song must not be admitted");
+    }
+
+    @Test
+    void testGetDropsTheAudioOfAModifiedSongFile() {
+        SongAudioCache cache = new SongAudioCache(SONG_SIZE * 2);
+        loadAndWait(cache, song1, file1);
+
+        Song modified = new Song("Song1", "Singer");
+
+        assertNull(cache.get(modified), "The Audio of the old File must not be returned for the new Song");
+        assertFalse(cache.contains(song1), "The Audio of the old File must be evicted");
+    }
+
+    @Test
+    void testCacheWithoutBudgetNeverLoads() {
+        SongAudioCache cache = new SongAudioCache(0);
+
+        cache.load(song1, file1);
+        sleep();
+
+        assertNull(cache.get(song1), "A disabled Cache must not hold Songs");
+    }
+
+    private static void loadAndWait(SongAudioCache cache, Song song, Path file) {
+        cache.load(song, file);
+
+        long deadline = System.currentTimeMillis() + LOAD_TIMEOUT_MILLIS;
+        while (!cache.contains(song) && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(200);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Path createSongFile(byte content) throws IOException {
+        Path file = Files.createTempFile("song", ".wav");
+        byte[] bytes = new byte[SONG_SIZE];
+        Arrays.fill(bytes, content);
+
+        return Files.write(file, bytes);
+    }
+}
@@ -0,0 +1,96 @@
+package spotify.database.song.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import spotify.database.song.Song;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SongFileMappingsTest {
+    private static final int SONG_SIZE = 100;
+
+    private final Song song1 = new Song("Song1", "Singer");
+    private final Song song2 = new Song("Song2", "Singer");
+
+    private Path file1;
+    private Path file2;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file1 = createSongFile((byte) 1);
+        file2 = createSongFile((byte) 2);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(file1);
+        Files.deleteIfExists(file2);
+    }
+
+    @Test
+    void testAcquireSharesOneMappingBetweenStreams() throws IOException {
+        SongFileMappings fileMappings = new SongFileMappings(1);
+
+        ByteBuffer audio1 = fileMappings.acquire(song1, file1);
+        ByteBuffer audio2 = fileMappings.acquire(song1, file1);
+        audio1.position(SONG_SIZE / 2);
+
+        assertEquals(1, fileMappings.getMappingsCount(), "A Song File must be mapped only once");
+        assertEquals(SONG_SIZE, audio2.remaining(), "Every Stream must get its own View");
+        assertEquals(1, audio2.get(SONG_SIZE - 1), "The mapped Audio does not match the File");
+    }
+
+    @Test
+    void testReleaseKeepsTheMappingWhileItIsUsed() throws IOException {
+        SongFileMappings fileMappings = new SongFileMappings(0);
+
+        fileMappings.acquire(song1, file1);
+        fileMappings.acquire(song1, file1);
+        fileMappings.release(song1);
+
+        assertTrue(fileMappings.isMapped(song1), "A Mapping that is used must not be dropped");
+
+        fileMappings.release(song1);
+
+        assertFalse(fileMappings.isMapped(song1), "An unused Mapping over the Limit must be dropped");
+    }
+
+    @Test
+    void testReleaseDropsTheLeastRecentlyReleasedMapping() throws IOException {
+        SongFileMappings fileMappings = new SongFileMappings(1);
+
+        fileMappings.acquire(song1, file1);
+        fileMappings.acquire(song2, file2);
+        fileMappings.release(song1);
+        fileMappings.release(song2);
+
+        assertFalse(fileMappings.isMapped(song1), "The coldest Mapping must be dropped");
+        assertTrue(fileMappings.isMapped(song2), "An idle Mapping within the Limit must be kept");
+    }
+
+    @Test
+    void testAcquireThrowsWhenTheFileDoesNotExist() {
+        SongFileMappings fileMappings = new SongFileMappings(1);
+
+        assertThrows(IOException.class, () -> fileMappings.acquire(song1, Path.of("missing.wav")),
+            "IOException expected");
+    }
+
+    private static Path createSongFile(byte content) throws IOException {
+        Path file = Files.createTempFile("song", ".wav");
+        byte[] bytes = new byte[SONG_SIZE];
+        Arrays.fill(bytes, content);
+
+        return Files.write(file, bytes);
+    }
+}
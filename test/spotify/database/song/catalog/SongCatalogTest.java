@@ -0,0 +1,82 @@
+package spotify.database.song.catalog;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import spotify.database.song.Song;
+
+import javax.sound.sampled.AudioFormat;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SongCatalogTest {
+    private static final String FILE_NAME = "My - Recording.wav";
+    private static final long SIZE = 233582;
+    private static final long LAST_MODIFIED = 1_700_000_000_000L;
+
+    private final Path file = Path.of("testCatalog.dat");
+
+    private final AudioFormat audioFormat =
+        new AudioFormat(new AudioFormat.Encoding("PCM_SIGNED"), 48000.0f, 16, 1, 2, 48000.0f, false);
+    private final Song song = new Song("Recording", "My", FILE_NAME, audioFormat, 110);
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    void testGetReturnsTheSavedSongWhenTheFileHasNotChanged() throws IOException {
+        song.setStreams(7);
+        writeCatalogWithSong();
+
+        Song actual = SongCatalog.read(file).get(FILE_NAME, SIZE, LAST_MODIFIED);
+
+        assertEquals(song, actual, "The Song Name and Singer were not saved");
+        assertEquals(FILE_NAME, actual.getFileName(), "The File Name was not saved");
+        assertEquals(song.getAudioFormatString(), actual.getAudioFormatString(), "The Audio Format was not saved");
+        assertEquals(110, actual.getDataOffset(), "The Data Offset was not saved");
+        assertEquals(7, actual.getStreams(), "The Streams Count was not saved");
+    }
+
+    @Test
+    void testGetReturnsNullWhenTheFileHasChanged() throws IOException {
+        writeCatalogWithSong();
+        SongCatalog catalog = SongCatalog.read(file);
+
+        assertNull(catalog.get(FILE_NAME, SIZE + 1, LAST_MODIFIED), "A File with another Size must be probed");
+        assertNull(catalog.get(FILE_NAME, SIZE, LAST_MODIFIED + 1), "A modified File must be probed");
+        assertNull(catalog.get("Other - Song.wav", SIZE, LAST_MODIFIED), "A new File must be probed");
+    }
+
+    @Test
+    void testIsChangedOnlyWhenTheScannedFilesDiffer() throws IOException {
+        writeCatalogWithSong();
+
+        SongCatalog unchanged = SongCatalog.read(file);
+        unchanged.put(FILE_NAME, SIZE, LAST_MODIFIED, unchanged.get(FILE_NAME, SIZE, LAST_MODIFIED));
+
+        assertFalse(unchanged.isChanged(), "The same Files must not change the Catalog");
+        assertTrue(SongCatalog.read(file).isChanged(), "A deleted File must change the Catalog");
+    }
+
+    @Test
+    void testReadReturnsAnEmptyCatalogWhenTheFileIsCorrupted() throws IOException {
+        Files.writeString(file, "corrupted");
+
+        SongCatalog catalog = SongCatalog.read(file);
+
+        assertNull(catalog.get(FILE_NAME, SIZE, LAST_MODIFIED), "A corrupted Catalog must not return Songs");
+    }
+
+    private void writeCatalogWithSong() throws IOException {
+        SongCatalog catalog = SongCatalog.read(file);
+        catalog.put(FILE_NAME, SIZE, LAST_MODIFIED, song);
+        catalog.write();
+    }
+}
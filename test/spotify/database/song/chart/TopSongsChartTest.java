@@ -0,0 +1,68 @@
+package spotify.database.song.chart;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import spotify.database.song.Song;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TopSongsChartTest {
+    private final Song song1 = new Song("Song1", "Singer");
+    private final Song song2 = new Song("Song2", "Singer");
+    private final Song song3 = new Song("Song3", "Singer");
+
+    private TopSongsChart chart;
+
+    @BeforeEach
+    void setUp() {
+        chart = new TopSongsChart();
+
+        for (Song song : List.of(song1, song2, song3)) {
+            chart.add(song);
+            song.setStreamsListener(chart::update);
+        }
+    }
+
+    @Test
+    void testGetTopFollowsStreams() {
+        song3.stream();
+        song3.stream();
+        song2.stream();
+
+        assertIterableEquals(List.of(song3, song2), chart.getTop(2), "The Chart was not updated on Stream");
+        assertEquals(3, chart.getTop(10).size(), "The Chart must not contain more Songs than it has");
+    }
+
+    @Test
+    void testRemoveRemovesSong() {
+        chart.remove(song1);
+        song1.stream();
+
+        assertIterableEquals(List.of(song2, song3), chart.getTop(3), "A removed Song must not be in the Chart");
+    }
+
+    @Test
+    void testConcurrentStreamsKeepOneEntryPerSong() throws InterruptedException {
+        final int streamsPerSong = 1000;
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        for (int i = 0; i < streamsPerSong; ++i) {
+            executor.execute(song1::stream);
+            executor.execute(song2::stream);
+        }
+        executor.execute(song2::stream);
+
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS), "Streams did not finish in time");
+
+        assertIterableEquals(List.of(song2, song1, song3), chart.getTop(Integer.MAX_VALUE),
+            "Concurrent Streams left the Chart inconsistent");
+    }
+}
@@ -0,0 +1,91 @@
+package spotify.database.song.counter;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import spotify.database.song.Song;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StreamsCounterStoreTest {
+    private final Path file = Path.of("testStreams.dat");
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    void testStreamsAreRestoredAfterRestart() {
+        try (StreamsCounterStore store = new StreamsCounterStore(file)) {
+            Song song1 = new Song("Song1", "Singer");
+            Song song2 = new Song("Song2", "Singer");
+            store.register(song1);
+            store.register(song2);
+
+            song1.stream();
+            store.update(song1);
+            song1.stream();
+            store.update(song1);
+            song2.stream();
+            store.update(song2);
+        }
+
+        try (StreamsCounterStore store = new StreamsCounterStore(file)) {
+            Song song2 = new Song("song2", "singer");
+            Song song1 = new Song("Song1", "Singer");
+            Song song3 = new Song("Song3", "Singer");
+            store.register(song2);
+            store.register(song1);
+            store.register(song3);
+
+            assertEquals(2, song1.getStreams(), "The Streams of the Song were not restored");
+            assertEquals(1, song2.getStreams(), "The Streams of the Song were not restored");
+            assertEquals(0, song3.getStreams(), "A new Song must start with 0 Streams");
+        }
+    }
+
+    @Test
+    void testFileIsNotCreatedUntilASongIsStreamed() {
+        try (StreamsCounterStore store = new StreamsCounterStore(file)) {
+            Song song = new Song("Song", "Singer");
+            store.register(song);
+
+            assertFalse(Files.exists(file), "The File must not be created before a Song is streamed");
+
+            song.stream();
+            store.update(song);
+
+            assertTrue(Files.exists(file), "The File was not created when a Song was streamed");
+        }
+    }
+
+    @Test
+    void testFileWithMoreSlotsThanItsSizeIsIgnored() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(Integer.BYTES * 2 + Long.BYTES + Integer.BYTES);
+        header.putInt(0x53545231).putInt(Integer.MAX_VALUE);
+        Files.write(file, header.array());
+
+        try (StreamsCounterStore store = new StreamsCounterStore(file)) {
+            Song song = new Song("Song", "Singer");
+            store.register(song);
+            song.stream();
+            store.update(song);
+
+            assertEquals(1, song.getStreams(), "A damaged File must be treated as empty");
+        }
+
+        try (StreamsCounterStore store = new StreamsCounterStore(file)) {
+            Song song = new Song("Song", "Singer");
+            store.register(song);
+
+            assertEquals(1, song.getStreams(), "The Streams saved after the damaged File was reset were not restored");
+        }
+    }
+}
@@ -13,19 +13,19 @@ import spotify.database.user.exceptions.UserAlreadyLoggedInException;
 import spotify.database.user.exceptions.UserNotRegisteredException;
 import org.junit.jupiter.api.Test;
 import spotify.server.DefaultSpotifyServer;
-import spotify.server.exceptions.PortCurrentlyStreamingException;
-import spotify.database.song.streamer.SongStreamer;
+import spotify.server.exceptions.UserCurrentlyStreamingException;
 
 import javax.sound.sampled.AudioFormat;
 import javax.sound.sampled.LineUnavailableException;
 import javax.sound.sampled.SourceDataLine;
+import java.io.IOException;
 
-import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class SongListenerTest {
-    private String testSongAudioFormatString = "ok PCM_SIGNED 48000.0 16 1 2 48000.0 false 7000";
+    private String testSongAudioFormatString = "ok PCM_SIGNED 48000.0 16 1 2 48000.0 false ";
     private final AudioFormat audioFormat =
         new AudioFormat(new AudioFormat.Encoding("PCM_SIGNED"), 48000.0f, 16, 1, 2, 48000.0f, false);
 
@@ -40,25 +40,23 @@ public class SongListenerTest {
 
     @Test
     void testSongListenerEndsSongCorrectly()
-        throws LineUnavailableException, UserAlreadyLoggedInException, UserNotRegisteredException,
-        UserAlreadyExistsException, InvalidEmailException {
+        throws IOException, LineUnavailableException, UserCurrentlyStreamingException, UserAlreadyLoggedInException,
+        UserNotRegisteredException, UserAlreadyExistsException, InvalidEmailException {
         database.registerUser("filip@", "filip");
         spotifyServer.getUserService().logIn(user);
-        long port = spotifyServer.getUserService().getPort(user);
+        String token = spotifyServer.getSongStreamer().stream(user, song);
 
-        Thread thread = new Thread(new SongStreamer((int) port, song, spotifyServer));
-        thread.start();
+        client.constructSourceDataLine(
+            testSongAudioFormatString + spotifyServer.getSongStreamer().getPort() + " " + token);
 
-        client.constructSourceDataLine(testSongAudioFormatString);
-
-        assertThrows(PortCurrentlyStreamingException.class, () -> spotifyServer.getUserService().isPortLocked(port),
-            "PortCurrentlyStreamingException expected");
+        assertThrows(UserCurrentlyStreamingException.class, () -> spotifyServer.getUserService().lockStreaming(user),
+            "UserCurrentlyStreamingException expected");
 
         assertNotNull(client.getSourceDataLine(), "SourceDataLine must not be null while Song is playing");
 
         SourceDataLine sourceDataLine = client.getSourceDataLine();
         sourceDataLine.stop();
 
-        assertDoesNotThrow(() -> spotifyServer.getUserService().isPortLocked(6999), "No Exception expected");
+        assertFalse(spotifyServer.getUserService().isStreaming(user), "The User must not be streaming once the Line has stopped");
     }
 }
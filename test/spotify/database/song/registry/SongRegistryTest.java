@@ -0,0 +1,99 @@
+package spotify.database.song.registry;
+
+import org.junit.jupiter.api.Test;
+import spotify.database.song.Song;
+
+import javax.sound.sampled.AudioFormat;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SongRegistryTest {
+    private static final int SONGS_COUNT = 10_000;
+    private static final AudioFormat AUDIO_FORMAT = new AudioFormat(48000, 16, 1, true, false);
+
+    private final Song song1 = new Song("Song1", "Singer", "Singer - Song1.wav", AUDIO_FORMAT);
+    private final Song song2 = new Song("Song2", "Singer", "Singer - Song2.wav", AUDIO_FORMAT);
+
+    @Test
+    void testAddIndexesTheSongByKeyAndFileName() {
+        SongRegistry registry = new SongRegistry();
+
+        assertTrue(registry.add(song1), "A new Song must be added");
+        assertFalse(registry.add(new Song("Song1", "Singer")), "A Song with the same Key must not be added");
+
+        assertSame(song1, registry.get(song1.getKey()), "The Song must be found by its Key");
+        assertSame(song1, registry.getByFileName("Singer - Song1.wav"), "The Song must be found by its File");
+        assertTrue(registry.contains(song1), "The Song must be in the Registry");
+        assertEquals(1, registry.size(), "The Registry must contain a single Song");
+    }
+
+    @Test
+    void testRemoveOnlyRemovesTheSameInstance() {
+        SongRegistry registry = new SongRegistry();
+        registry.add(song1);
+
+        assertFalse(registry.remove(new Song("Song1", "Singer", "Singer - Song1.wav", AUDIO_FORMAT)),
+            "Another Instance of the Song must not be removed");
+        assertFalse(registry.remove(null), "Removing null must be ignored");
+
+        assertTrue(registry.remove(song1), "The Song must be removed");
+        assertNull(registry.get(song1.getKey()), "The removed Song must not be found by its Key");
+        assertNull(registry.getByFileName("Singer - Song1.wav"), "The removed Song must not be found by its File");
+        assertTrue(registry.getAll().isEmpty(), "The removed Song must not be in the Snapshot");
+    }
+
+    @Test
+    void testGetAllReturnsASnapshotThatDoesNotChange() {
+        SongRegistry registry = new SongRegistry();
+        registry.add(song1);
+
+        List<Song> snapshot = registry.getAll();
+        registry.add(song2);
+        registry.remove(song1);
+
+        assertEquals(List.of(song1), snapshot, "An earlier Snapshot must not see later Changes");
+        assertEquals(List.of(song2), registry.getAll(), "A new Snapshot must see all Changes");
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.add(song2),
+            "The Snapshot must not be modifiable");
+    }
+
+    @Test
+    void testGetAllIsConsistentWhileSongsAreAdded() throws InterruptedException {
+        SongRegistry registry = new SongRegistry();
+        CountDownLatch started = new CountDownLatch(1);
+
+        Thread writer = new Thread(() -> {
+            started.countDown();
+            for (int i = 0; i < SONGS_COUNT; ++i) {
+                registry.add(new Song("Song" + i, "Singer"));
+            }
+        });
+        writer.start();
+        started.await();
+
+        int lastSize = 0;
+        while (writer.isAlive()) {
+            List<Song> snapshot = registry.getAll();
+            int size = 0;
+            for (Song song : snapshot) {
+                ++size;
+            }
+
+            assertEquals(snapshot.size(), size, "The Snapshot must not change while it is iterated");
+            assertTrue(size >= lastSize, "A later Snapshot must not lose added Songs");
+            lastSize = size;
+        }
+
+        writer.join();
+
+        assertEquals(SONGS_COUNT, registry.getAll().size(), "The final Snapshot must contain all Songs");
+    }
+}
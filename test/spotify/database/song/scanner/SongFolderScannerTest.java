@@ -0,0 +1,86 @@
+package spotify.database.song.scanner;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import spotify.database.song.Song;
+import spotify.database.song.catalog.SongCatalog;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SongFolderScannerTest {
+    private static final Path SONG_FILE = Path.of("My - Recording.wav");
+    private static final int SONGS_COUNT = 20;
+
+    private Path songsFolder;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        songsFolder = Files.createTempDirectory("songs");
+
+        for (int i = 0; i < SONGS_COUNT; i++) {
+            Files.copy(SONG_FILE, songsFolder.resolve("Singer - Song " + i + ".wav"));
+        }
+        Files.writeString(songsFolder.resolve("Broken - Song.wav"), "not a wav file");
+        Files.writeString(songsFolder.resolve("Singer - Notes.txt"), "not a song");
+        Files.createDirectory(songsFolder.resolve("Folder - Song.wav"));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(songsFolder)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    void testScanReadsEverySongInParallel() throws IOException {
+        Set<Song> songs = ConcurrentHashMap.newKeySet();
+
+        SongFolderScanner.ScanResult result =
+            new SongFolderScanner(songsFolder + "/", 4).scan(songs::add);
+
+        assertEquals(SONGS_COUNT, songs.size(), "Every Song File must be read");
+        assertTrue(songs.contains(new Song("Song 7", "Singer")), "A Song was not read correctly");
+        assertEquals(SONGS_COUNT + 2, result.files(), "Every .wav File must be listed");
+        assertEquals(SONGS_COUNT, result.songs(), "Invalid Files and Folders must not be counted as Songs");
+    }
+
+    @Test
+    void testScanProbesOnlyTheFilesThatChangedSinceTheCatalog() throws IOException {
+        Path catalogFile = songsFolder.resolve("catalog.dat");
+        SongFolderScanner scanner = new SongFolderScanner(songsFolder + "/", 4);
+
+        SongCatalog catalog = SongCatalog.read(catalogFile);
+        assertEquals(SONGS_COUNT + 1, scanner.scan(catalog, song -> { }).probed(),
+            "Every File must be probed without a Catalog");
+        catalog.write();
+
+        Files.copy(SONG_FILE, songsFolder.resolve("Singer - New Song.wav"));
+        Set<Song> songs = ConcurrentHashMap.newKeySet();
+
+        SongFolderScanner.ScanResult result = scanner.scan(SongCatalog.read(catalogFile), songs::add);
+
+        assertEquals(2, result.probed(), "Only the new and the invalid File must be probed");
+        assertEquals(SONGS_COUNT + 1, songs.size(), "Every Song must be read");
+    }
+
+    @Test
+    void testScanThrowsIOExceptionWhenTheFolderDoesNotExist() {
+        assertThrows(IOException.class,
+            () -> new SongFolderScanner(songsFolder + "/missing/", 4).scan(song -> { }),
+            "IOException expected");
+    }
+}
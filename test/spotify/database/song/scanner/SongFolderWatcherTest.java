@@ -0,0 +1,95 @@
+package spotify.database.song.scanner;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import spotify.database.song.Song;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SongFolderWatcherTest {
+    private static final Path SONG_FILE = Path.of("My - Recording.wav");
+    private static final long EVENT_TIMEOUT_SECONDS = 10;
+
+    private final BlockingQueue<String> changes = new LinkedBlockingQueue<>();
+    private final SongFolderListener listener = new SongFolderListener() {
+        @Override
+        public void onSongFileChanged(String fileName, Song song) {
+            changes.add("changed " + fileName + " " + song);
+        }
+
+        @Override
+        public void onSongFileRemoved(String fileName) {
+            changes.add("removed " + fileName);
+        }
+
+        @Override
+        public Collection<String> getSongFileNames() {
+            return List.of("Singer - Gone.wav");
+        }
+    };
+
+    private Path songsFolder;
+    private SongFolderWatcher watcher;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        songsFolder = Files.createTempDirectory("songs");
+        watcher = new SongFolderWatcher(songsFolder + "/", 2, listener);
+        watcher.start();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        watcher.close();
+
+        try (var files = Files.list(songsFolder)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(songsFolder);
+    }
+
+    @Test
+    void testWatcherReportsAddedAndRemovedSongFiles() throws IOException, InterruptedException {
+        Path songFile = songsFolder.resolve("Singer - Live.wav");
+
+        Files.copy(SONG_FILE, songFile);
+        Files.writeString(songsFolder.resolve("Singer - Notes.txt"), "not a song");
+
+        assertEquals("changed Singer - Live.wav Singer - Live", changes.poll(EVENT_TIMEOUT_SECONDS, TimeUnit.SECONDS),
+            "An added Song File must be read once its Events have settled");
+
+        Files.delete(songFile);
+
+        assertEquals("removed Singer - Live.wav", changes.poll(EVENT_TIMEOUT_SECONDS, TimeUnit.SECONDS),
+            "A deleted Song File must be reported");
+        assertEquals(0, changes.size(), "Only Song Files must be reported");
+    }
+
+    @Test
+    void testAllSongFilesIncludeTheKnownFilesThatHaveBeenDeleted() throws IOException {
+        Files.copy(SONG_FILE, songsFolder.resolve("Singer - Live.wav"));
+
+        assertEquals(Set.of("Singer - Live.wav", "Singer - Gone.wav"), watcher.getAllSongFiles(),
+            "After lost Events a deleted Song File must be read again, so that it is removed");
+    }
+
+    @Test
+    void testWatcherThrowsIOExceptionWhenTheFolderDoesNotExist() {
+        assertThrows(IOException.class, () -> new SongFolderWatcher(songsFolder + "/missing/", 1, listener),
+            "IOException expected");
+    }
+}
@@ -0,0 +1,54 @@
+package spotify.database.song.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import spotify.database.song.Song;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SongSearchIndexTest {
+    private final Song bohemianRhapsody = new Song("Bohemian Rhapsody", "Queen");
+    private final Song kingOfTheFall = new Song("King Of The Fall", "The Weeknd");
+    private final Song avantim = new Song("Avantim", "BNR");
+
+    private SongSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new SongSearchIndex();
+
+        index.add(bohemianRhapsody);
+        index.add(kingOfTheFall);
+        index.add(avantim);
+    }
+
+    @Test
+    void testSearchWithShortFilterReturnsAllMatchingSongs() {
+        assertEquals(Set.of(bohemianRhapsody, kingOfTheFall), Set.copyOf(index.search("he")),
+            "Filters shorter than a Gram not answered correctly");
+    }
+
+    @Test
+    void testSearchWithLongFilterKeepsSubstringSemantics() {
+        assertEquals(Set.of(kingOfTheFall), Set.copyOf(index.search("EEKN")),
+            "Filters longer than a Gram must match Substrings despite Cases");
+        assertTrue(index.search("heim").isEmpty(), "No Songs expected when the Filter is not a Substring");
+    }
+
+    @Test
+    void testSearchReturnsUnionOfFilters() {
+        assertEquals(Set.of(bohemianRhapsody, avantim), Set.copyOf(index.search("queen", "bnr")),
+            "The Results of all Filters must be united");
+    }
+
+    @Test
+    void testRemoveRemovesSongFromResults() {
+        index.remove(bohemianRhapsody);
+
+        assertTrue(index.search("bohemian").isEmpty(), "A removed Song must not be found");
+        assertEquals(Set.of(kingOfTheFall), Set.copyOf(index.search("he")), "A removed Song must not be found");
+    }
+}
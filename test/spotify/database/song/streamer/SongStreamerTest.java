@@ -0,0 +1,222 @@
+package spotify.database.song.streamer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import spotify.database.Database;
+import spotify.database.song.cache.SongAudioCache;
+import spotify.database.song.cache.SongFileMappings;
+import spotify.database.song.Song;
+import spotify.database.user.User;
+import spotify.database.user.service.UserService;
+import spotify.server.SpotifyServer;
+import spotify.server.exceptions.UserCurrentlyStreamingException;
+import spotify.server.metrics.StreamingMetrics;
+
+import javax.sound.sampled.AudioFormat;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class SongStreamerTest {
+    private static final String SONG_FILE_NAME = "My - Recording.wav";
+    private static final long SONG_BYTES_PER_SECOND = 96_000;
+    private static final long PACER_LEAD_MILLIS = 100;
+    private static final long PACING_TOLERANCE_BYTES = 4_000; // About 2 paced Transfers of the Test Song
+
+    private final AudioFormat audioFormat =
+        new AudioFormat(new AudioFormat.Encoding("PCM_SIGNED"), 48000.0f, 16, 1, 2, 48000.0f, false);
+    private final Song song = new Song("Recording", "My", SONG_FILE_NAME, audioFormat);
+
+    private final User user1 = new User("user1", "123");
+    private final User user2 = new User("user2", "123");
+
+    private final UserService userService = mock(UserService.class);
+    private final Database database = mock(Database.class);
+    private final SpotifyServer spotifyServer = mock(SpotifyServer.class);
+
+    private SongStreamer songStreamer;
+
+    @BeforeEach
+    void setUp() {
+        when(spotifyServer.getUserService()).thenReturn(userService);
+        when(spotifyServer.getDatabase()).thenReturn(database);
+        when(database.getSongsFolder()).thenReturn("");
+
+        songStreamer = new SongStreamer(spotifyServer, 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        songStreamer.close();
+    }
+
+    @Test
+    void testStreamSendsTheWholeSongToSeveralListenersOnOnePort()
+        throws IOException, UserCurrentlyStreamingException {
+        String token1 = songStreamer.stream(user1, song);
+        String token2 = songStreamer.stream(user2, song);
+
+        assertNotEquals(token1, token2, "Every Stream must have its own Token");
+
+        CompletableFuture<Integer> received1 = CompletableFuture.supplyAsync(() -> listen(token1));
+        CompletableFuture<Integer> received2 = CompletableFuture.supplyAsync(() -> listen(token2));
+
+        long songSize = Files.size(Path.of(SONG_FILE_NAME));
+        assertEquals(songSize, (long) received1.join(), "The whole Song must be streamed");
+        assertEquals(songSize, (long) received2.join(), "The whole Song must be streamed");
+
+        verify(userService).lockStreaming(user1);
+        verify(userService, timeout(1000)).freeStreaming(user1);
+        verify(userService, timeout(1000)).freeStreaming(user2);
+        assertEquals(2, song.getStreams(), "Every finished Stream must be counted");
+    }
+
+    @Test
+    void testStreamSendsOnlyTheRestOfTheSongFromAnOffset() throws IOException, UserCurrentlyStreamingException {
+        long offset = song.getOffsetOf(1);
+
+        String token = songStreamer.stream(user1, song, offset);
+
+        assertEquals(Files.size(Path.of(SONG_FILE_NAME)) - offset, (long) listen(token),
+            "Only the Bytes after the Offset must be streamed");
+        assertEquals(0, listen(songStreamer.stream(user2, song, Long.MAX_VALUE)),
+            "Nothing must be streamed from an Offset after the End of the Song");
+    }
+
+    @Test
+    void testStreamFromANegativeOffsetSendsTheWholeSong() throws IOException, UserCurrentlyStreamingException {
+        long songSize = Files.size(Path.of(SONG_FILE_NAME));
+
+        assertEquals(songSize, (long) listen(songStreamer.stream(user1, song, -1_000_000)),
+            "A negative Offset must start the Stream at the Beginning of the Song");
+        assertEquals(songSize, (long) listen(songStreamer.stream(user2, song)),
+            "The Song Streamer must keep streaming after a bad Offset");
+    }
+
+    @Test
+    void testTokenCanBeUsedOnlyOnce() throws IOException, UserCurrentlyStreamingException {
+        String token = songStreamer.stream(user1, song);
+
+        assertEquals(Files.size(Path.of(SONG_FILE_NAME)), (long) listen(token), "The whole Song must be streamed");
+        assertEquals(0, listen(token), "A used Token must not start another Stream");
+    }
+
+    @Test
+    void testStreamFreesTheUserWhenTheListenerStops() throws IOException, UserCurrentlyStreamingException {
+        String token = songStreamer.stream(user1, song);
+
+        try (Socket socket = new Socket("localhost", songStreamer.getPort())) {
+            socket.getOutputStream().write(token.getBytes(StandardCharsets.US_ASCII));
+            socket.getInputStream().read();
+        }
+
+        verify(userService, timeout(1000)).freeStreaming(user1);
+    }
+
+    @Test
+    void testStreamThrowsWhenTheUserIsAlreadyStreaming() throws UserCurrentlyStreamingException {
+        doThrow(new UserCurrentlyStreamingException("streaming")).when(userService).lockStreaming(user1);
+
+        assertThrows(UserCurrentlyStreamingException.class,
+            () -> songStreamer.stream(user1, song), "UserCurrentlyStreamingException expected");
+    }
+
+    @Test
+    void testStreamSendsTheWholeSongFromTheAudioCache() throws IOException, UserCurrentlyStreamingException {
+        SongAudioCache audioCache = new SongAudioCache(Files.size(Path.of(SONG_FILE_NAME)));
+        songStreamer.close();
+        songStreamer = new SongStreamer(spotifyServer, 0, audioCache);
+
+        listen(songStreamer.stream(user1, song));
+        verify(userService, timeout(1000)).freeStreaming(user1);
+
+        long deadline = System.currentTimeMillis() + 2000;
+        while (!audioCache.contains(song) && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+
+        assertEquals(Files.size(Path.of(SONG_FILE_NAME)), (long) listen(songStreamer.stream(user2, song)),
+            "The whole Song must be streamed from the Cache");
+    }
+
+    @Test
+    void testStreamSendsTheWholeSongFromTheFileMapping() throws IOException, UserCurrentlyStreamingException {
+        SongFileMappings fileMappings = new SongFileMappings(0);
+        songStreamer.close();
+        songStreamer = new SongStreamer(spotifyServer, 0, new SongAudioCache(0), fileMappings, null);
+
+        assertEquals(Files.size(Path.of(SONG_FILE_NAME)), (long) listen(songStreamer.stream(user1, song)),
+            "The whole Song must be streamed from the Mapping");
+
+        verify(userService, timeout(1000)).freeStreaming(user1);
+        assertFalse(fileMappings.isMapped(song), "The Mapping must be released when the Stream ends");
+    }
+
+    @Test
+    void testStreamRecordsItsMetrics() throws IOException, UserCurrentlyStreamingException {
+        long songSize = Files.size(Path.of(SONG_FILE_NAME));
+
+        assertEquals(songSize, (long) listen(songStreamer.stream(user1, song)), "The whole Song must be streamed");
+        verify(userService, timeout(1000)).freeStreaming(user1);
+
+        StreamingMetrics metrics = songStreamer.getMetrics();
+        assertEquals(songSize, metrics.getBytesSent(), "Every sent Byte must be counted");
+        assertEquals(1, metrics.getTimeToFirstByte().getCount(), "The first Byte of the Stream must be timed");
+        assertEquals(0, metrics.getActiveStreams(), "A finished Stream must not be active");
+        assertEquals(0, metrics.getRequiredBytesPerSecond(), "A finished Stream must not need any Bandwidth");
+    }
+
+    @Test
+    void testPacedStreamSendsTheSongAtItsByteRate()
+        throws IOException, UserCurrentlyStreamingException, InterruptedException {
+        songStreamer.close();
+        songStreamer = new SongStreamer(spotifyServer, 0, new SongAudioCache(0), null, new StreamPacer(PACER_LEAD_MILLIS, 0));
+
+        String token = songStreamer.stream(user1, song);
+
+        try (Socket socket = new Socket("localhost", songStreamer.getPort())) {
+            long startNanos = System.nanoTime();
+            socket.getOutputStream().write(token.getBytes(StandardCharsets.US_ASCII));
+            Thread.sleep(300);
+
+            int available = socket.getInputStream().available();
+            long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+
+            // The Stream can not have started before the Token was sent, so this is the most it may have sent
+            long maxDue = (elapsedMillis + PACER_LEAD_MILLIS) * SONG_BYTES_PER_SECOND / 1000;
+            assertTrue(available > 0, "A paced Stream must start sending immediately");
+            assertTrue(available <= maxDue + PACING_TOLERANCE_BYTES,
+                "A paced Stream must not send ahead of its Lead: " + available + " Bytes after " + elapsedMillis +
+                "ms");
+        }
+
+        verify(userService, timeout(1000)).freeStreaming(user1);
+    }
+
+    private int listen(String token) {
+        try (Socket socket = new Socket("localhost", songStreamer.getPort());
+             InputStream inputStream = socket.getInputStream()) {
+            socket.getOutputStream().write(token.getBytes(StandardCharsets.US_ASCII));
+
+            return inputStream.readAllBytes().length;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package spotify.database.song.streamer;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class StreamPacerTest {
+    private static final long SECOND = 1_000_000_000L;
+    private static final long BYTES_PER_SECOND = 1000;
+
+    @Test
+    void testGetDueBytesIncludesTheLead() {
+        StreamPacer pacer = new StreamPacer(500, 0);
+
+        assertEquals(500, pacer.getDueBytes(BYTES_PER_SECOND, 0), "The Lead must be due immediately");
+        assertEquals(2500, pacer.getDueBytes(BYTES_PER_SECOND, 2 * SECOND), "The Bytes must be due at the Byte Rate");
+    }
+
+    @Test
+    void testGetDueNanosIsTheInverseOfGetDueBytes() {
+        StreamPacer pacer = new StreamPacer(500, 0);
+
+        assertEquals(2 * SECOND, pacer.getDueNanos(BYTES_PER_SECOND, 2500), "Incorrect Due Time");
+    }
+
+    @Test
+    void testTakeIsNotLimitedWithoutBandwidthCap() {
+        StreamPacer pacer = new StreamPacer(0, 0);
+
+        assertEquals(Long.MAX_VALUE, pacer.take(Long.MAX_VALUE, System.nanoTime()), "Nothing must be capped");
+        assertEquals(0, pacer.getNanosUntilAvailable(Long.MAX_VALUE, System.nanoTime()), "Nothing must wait");
+    }
+
+    @Test
+    void testTakeSharesTheBucketBetweenStreams() {
+        StreamPacer pacer = new StreamPacer(0, BYTES_PER_SECOND);
+        long now = System.nanoTime();
+
+        assertEquals(600, pacer.take(600, now), "The Bucket must start full");
+        assertEquals(400, pacer.take(600, now), "Only the Tokens left may be taken");
+        assertEquals(0, pacer.take(600, now), "An empty Bucket must not grant Tokens");
+        assertEquals(SECOND / 2, pacer.getNanosUntilAvailable(500, now), "Incorrect Time until refilled");
+
+        assertEquals(500, pacer.take(600, now + SECOND / 2), "The Bucket must refill at its Rate");
+    }
+
+    @Test
+    void testRefundReturnsUnusedTokens() {
+        StreamPacer pacer = new StreamPacer(0, BYTES_PER_SECOND);
+        long now = System.nanoTime();
+
+        pacer.take(BYTES_PER_SECOND, now);
+        pacer.refund(300);
+
+        assertEquals(300, pacer.take(BYTES_PER_SECOND, now), "Refunded Tokens must be taken again");
+    }
+}
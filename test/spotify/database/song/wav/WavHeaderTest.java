@@ -0,0 +1,117 @@
+package spotify.database.song.wav;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sound.sampled.AudioFileFormat;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class WavHeaderTest {
+    private static final String SONG_FILE_NAME = "My - Recording.wav";
+    private static final int FRAMES = 1000;
+
+    private Path file;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (file != null) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void testReadMatchesAudioSystemForTheShippedSong() throws IOException, UnsupportedAudioFileException {
+        WavHeader header = WavHeader.read(Path.of(SONG_FILE_NAME));
+
+        assertMatchesAudioSystem(Path.of(SONG_FILE_NAME), header);
+        assertEquals(110, header.getDataOffset(), "The Audio Data starts after the fmt and the LIST Chunks");
+        assertEquals(233472, header.getDataSize(), "Incorrect Audio Data Size");
+    }
+
+    @Test
+    void testReadMatchesAudioSystemForPcmSigned() throws IOException, UnsupportedAudioFileException {
+        assertWrittenFormatMatchesAudioSystem(new AudioFormat(44100, 16, 2, true, false));
+        assertWrittenFormatMatchesAudioSystem(new AudioFormat(96000, 24, 2, true, false));
+    }
+
+    @Test
+    void testReadMatchesAudioSystemForPcmUnsigned() throws IOException, UnsupportedAudioFileException {
+        assertWrittenFormatMatchesAudioSystem(new AudioFormat(8000, 8, 1, false, false));
+    }
+
+    @Test
+    void testReadMatchesAudioSystemForULaw() throws IOException, UnsupportedAudioFileException {
+        assertWrittenFormatMatchesAudioSystem(
+            new AudioFormat(AudioFormat.Encoding.ULAW, 8000, 8, 1, 1, 8000, false));
+    }
+
+    @Test
+    void testReadFindsDataAfterLargeChunks() throws IOException {
+        file = Files.createTempFile("song", ".wav");
+        int junkSize = 1001;
+
+        ByteBuffer wav = ByteBuffer.allocate(12 + 8 + junkSize + 1 + 8 + 16 + 8 + 4).order(ByteOrder.LITTLE_ENDIAN);
+        wav.put("RIFF".getBytes()).putInt(wav.capacity() - 8).put("WAVE".getBytes());
+        wav.put("junk".getBytes()).putInt(junkSize).position(wav.position() + junkSize + 1);
+        wav.put("fmt ".getBytes()).putInt(16)
+            .putShort((short) 1).putShort((short) 1).putInt(22050).putInt(44100).putShort((short) 2)
+            .putShort((short) 16);
+        wav.put("data".getBytes()).putInt(4).putInt(0);
+        Files.write(file, wav.array());
+
+        WavHeader header = WavHeader.read(file);
+
+        assertEquals(wav.capacity() - 4, header.getDataOffset(), "The Audio Data after a large Chunk was not found");
+        assertEquals(new AudioFormat(22050, 16, 1, true, false).toString(), header.getAudioFormat().toString(),
+            "Incorrect Audio Format");
+    }
+
+    @Test
+    void testReadThrowsIOExceptionWhenTheFileIsNotAWavFile() throws IOException {
+        file = Files.createTempFile("song", ".wav");
+        Files.writeString(file, "definitely not a wav file");
+
+        assertThrows(IOException.class, () -> WavHeader.read(file), "IOException expected");
+    }
+
+    private void assertWrittenFormatMatchesAudioSystem(AudioFormat format)
+        throws IOException, UnsupportedAudioFileException {
+        file = Files.createTempFile("song", ".wav");
+        byte[] audio = new byte[FRAMES * format.getFrameSize()];
+
+        try (AudioInputStream inputStream =
+                 new AudioInputStream(new ByteArrayInputStream(audio), format, FRAMES)) {
+            AudioSystem.write(inputStream, AudioFileFormat.Type.WAVE, file.toFile());
+        }
+
+        WavHeader header = WavHeader.read(file);
+
+        assertMatchesAudioSystem(file, header);
+        assertEquals(audio.length, header.getDataSize(), "Incorrect Audio Data Size");
+        assertEquals(Files.size(file) - audio.length, header.getDataOffset(), "Incorrect Audio Data Offset");
+    }
+
+    private static void assertMatchesAudioSystem(Path file, WavHeader header)
+        throws IOException, UnsupportedAudioFileException {
+        try (AudioInputStream inputStream = AudioSystem.getAudioInputStream(file.toFile())) {
+            AudioFormat expected = inputStream.getFormat();
+            AudioFormat actual = header.getAudioFormat();
+
+            assertTrue(expected.matches(actual), "Expected " + expected + " but was " + actual);
+            assertEquals(expected.getFrameSize(), actual.getFrameSize(), "Incorrect Frame Size");
+        }
+    }
+}
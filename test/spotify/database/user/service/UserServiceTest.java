@@ -10,16 +10,10 @@ import spotify.database.user.User;
 import spotify.database.user.exceptions.UserAlreadyLoggedInException;
 import spotify.database.user.exceptions.UserNotLoggedInException;
 import spotify.database.user.exceptions.UserNotRegisteredException;
-import spotify.database.user.service.DefaultUserService;
-import spotify.server.exceptions.PortCurrentlyStreamingException;
+import spotify.server.exceptions.UserCurrentlyStreamingException;
 
-import java.nio.channels.SelectionKey;
-import java.util.Map;
-import java.util.Queue;
 import java.util.Set;
-import java.util.TreeSet;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -31,10 +25,8 @@ public class UserServiceTest {
     private Database database;
     private DefaultUserService userService;
 
-    private Map<User, Long> streamingPortsByUser;
-    private Map<User, SelectionKey> selectionKeysByUser;
-    private Set<Long> currentlyStreamingPorts;
-    private Queue<Long> ports;
+    private Set<User> loggedInUsers;
+    private Set<User> streamingUsers;
 
     private User user = new User(TEST_STRING, TEST_STRING);
 
@@ -44,11 +36,10 @@ public class UserServiceTest {
 
     @BeforeEach
     void beforeEach() {
-        userService = new DefaultUserService(6999, database);
+        userService = new DefaultUserService(database);
 
-        streamingPortsByUser = userService.getStreamingPortsByUser();
-        currentlyStreamingPorts = userService.getCurrentlyStreamingPorts();
-        ports = userService.getPorts();
+        loggedInUsers = userService.getLoggedInUsers();
+        streamingUsers = userService.getStreamingUsers();
     }
 
     @Test
@@ -57,25 +48,7 @@ public class UserServiceTest {
 
         userService.logIn(user);
 
-        assertTrue(streamingPortsByUser.containsKey(user), "User was not marked as logged in");
-
-        long userPort = userService.getPort(user);
-
-        assertTrue(ports.contains(userPort), "User Streaming Port was not included as last");
-    }
-
-    @Test
-    void testLogInAssignsStreamingPortsCorrectly() throws UserAlreadyLoggedInException, UserNotRegisteredException {
-        Mockito.when(database.doesUserExist(user)).thenReturn(true);
-        userService.logIn(user);
-        long userPort1 = userService.getPort(user);
-
-        user = new User("new", "User");
-        Mockito.when(database.doesUserExist(user)).thenReturn(true);
-        userService.logIn(user);
-        long userPort2 = userService.getPort(user);
-
-        assertEquals(userPort1 + 1, userPort2, "User Streaming Ports not assigned correctly");
+        assertTrue(loggedInUsers.contains(user), "User was not marked as logged in");
     }
 
     @Test
@@ -115,12 +88,9 @@ public class UserServiceTest {
         Mockito.when(database.doesUserExist(user)).thenReturn(true);
         userService.logIn(user);
 
-        long userPort = userService.getPort(user);
-
         userService.logOut(user);
 
-        assertFalse(streamingPortsByUser.containsKey(user), "User was not marked as logged out");
-        assertFalse(ports.contains(userPort), "User was not marked as logged out");
+        assertFalse(loggedInUsers.contains(user), "User was not marked as logged out");
     }
 
     @Test
@@ -140,51 +110,28 @@ public class UserServiceTest {
     }
 
     @Test
-    void testLockPortMarksUserStreamingPortAsStreaming()
-        throws UserAlreadyLoggedInException, UserNotRegisteredException {
-        Mockito.when(database.doesUserExist(user)).thenReturn(true);
-        userService.logIn(user);
-        long userPort = userService.getPort(user);
-
-        userService.lockPort(userPort);
+    void testLockStreamingMarksUserAsStreaming() throws UserCurrentlyStreamingException {
+        userService.lockStreaming(user);
 
-        assertTrue(currentlyStreamingPorts.contains(userPort), "User Port not marked as streaming");
+        assertTrue(streamingUsers.contains(user), "User not marked as streaming");
+        assertTrue(userService.isStreaming(user), "User not marked as streaming");
     }
 
     @Test
-    void testLockPortDoesNotAddPortWhichHasNotBeenAssignToAUser() {
-        Mockito.when(database.doesUserExist(user)).thenReturn(true);
-
-        userService.lockPort(123);
+    void testLockStreamingThrowsUserCurrentlyStreamingExceptionWhenUserIsStreaming()
+        throws UserCurrentlyStreamingException {
+        userService.lockStreaming(user);
 
-        assertFalse(currentlyStreamingPorts.contains((long) 123), "User Port not marked as streaming");
+        assertThrows(UserCurrentlyStreamingException.class, () -> userService.lockStreaming(user),
+            "UserCurrentlyStreamingException expected");
     }
 
     @Test
-    void testFreePortRemovesPort() throws UserAlreadyLoggedInException, UserNotRegisteredException {
-        Mockito.when(database.doesUserExist(user)).thenReturn(true);
-        userService.logIn(user);
-        long userPort = userService.getPort(user);
+    void testFreeStreamingMarksUserAsNotStreaming() throws UserCurrentlyStreamingException {
+        userService.lockStreaming(user);
 
-        userService.lockPort(userPort);
+        userService.freeStreaming(user);
 
-        userService.freePort(userPort);
-
-        assertFalse(currentlyStreamingPorts.contains(userPort), "User Port not marked as not streaming");
+        assertFalse(userService.isStreaming(user), "User not marked as not streaming");
     }
-
-    @Test
-    void testIsPortLockedThrowsPortCurrentlyStreamingExceptionWhenPortIsStreaming()
-        throws UserAlreadyLoggedInException, UserNotRegisteredException {
-        Mockito.when(database.doesUserExist(user)).thenReturn(true);
-        userService.logIn(user);
-        long userPort = userService.getPort(user);
-
-        userService.lockPort(userPort);
-
-        assertThrows(PortCurrentlyStreamingException.class, () -> userService.isPortLocked(userPort),
-            "PortCurrentlyStreamingException expected");
-    }
-
-
 }
@@ -0,0 +1,80 @@
+package spotify.logger;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LogRingBufferTest {
+    private static final int PRODUCERS_COUNT = 4;
+    private static final int MESSAGES_PER_PRODUCER = 10_000;
+
+    @Test
+    void testCapacityIsRoundedUpToAPowerOfTwo() {
+        assertEquals(8, new LogRingBuffer<Integer>(5).capacity(), "The Capacity must be rounded up");
+        assertEquals(8, new LogRingBuffer<Integer>(8).capacity(), "A Power of Two must be kept");
+    }
+
+    @Test
+    void testOfferFailsWhenFullAndDrainKeepsTheOrder() {
+        LogRingBuffer<Integer> buffer = new LogRingBuffer<>(4);
+
+        for (int i = 0; i < 4; ++i) {
+            assertTrue(buffer.offer(i), "The Buffer is not full yet");
+        }
+        assertFalse(buffer.offer(4), "A full Buffer must reject Elements");
+
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(2, buffer.drain(drained::add, 2), "At most 2 Elements must be drained");
+        assertTrue(buffer.offer(4), "Draining must make Room");
+        buffer.drain(drained::add, Integer.MAX_VALUE);
+
+        assertEquals(List.of(0, 1, 2, 3, 4), drained, "The Elements must be drained in Order");
+        assertTrue(buffer.isEmpty(), "The Buffer must be empty after draining");
+    }
+
+    @Test
+    void testConcurrentProducersLoseNoElements() throws InterruptedException {
+        LogRingBuffer<Integer> buffer = new LogRingBuffer<>(1024);
+        List<Thread> producers = new ArrayList<>();
+
+        for (int p = 0; p < PRODUCERS_COUNT; ++p) {
+            int producer = p;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < MESSAGES_PER_PRODUCER; ++i) {
+                    while (!buffer.offer(producer * MESSAGES_PER_PRODUCER + i)) {
+                        Thread.yield();
+                    }
+                }
+            });
+            producers.add(thread);
+            thread.start();
+        }
+
+        int[] lastByProducer = new int[PRODUCERS_COUNT];
+        Arrays.fill(lastByProducer, -1);
+        int[] received = new int[1];
+
+        while (received[0] < PRODUCERS_COUNT * MESSAGES_PER_PRODUCER) {
+            buffer.drain(element -> {
+                int producer = element / MESSAGES_PER_PRODUCER;
+                int index = element % MESSAGES_PER_PRODUCER;
+
+                assertEquals(lastByProducer[producer] + 1, index, "The Elements of a Producer must stay in Order");
+                lastByProducer[producer] = index;
+                ++received[0];
+            }, 128);
+        }
+
+        for (Thread producer : producers) {
+            producer.join();
+        }
+
+        assertTrue(buffer.isEmpty(), "Every Element must be drained exactly once");
+    }
+}
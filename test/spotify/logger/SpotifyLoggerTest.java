@@ -0,0 +1,115 @@
+package spotify.logger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import spotify.database.user.User;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.channels.SelectionKey;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+public class SpotifyLoggerTest {
+    private static final String LOG_FILE_NAME = "testLogs.txt";
+
+    private final ByteArrayOutputStream terminalOutput = new ByteArrayOutputStream();
+    private final PrintStream terminal = new PrintStream(terminalOutput, true);
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(Path.of(LOG_FILE_NAME));
+    }
+
+    @Test
+    void testCloseWritesAllLoggedMessages() throws IOException {
+        SelectionKey key = Mockito.mock(SelectionKey.class);
+        when(key.attachment()).thenReturn(new User("filip@mail.com", "123"));
+
+        SpotifyLogger logger = new SpotifyLogger(LOG_FILE_NAME, null, 16, OverflowPolicy.BLOCK, terminal);
+        for (int i = 0; i < 100; ++i) {
+            logger.logClientInput("search " + i, key);
+        }
+        logger.log(new IllegalStateException("Failure"), "play", key);
+        logger.close();
+
+        String logs = Files.readString(Path.of(LOG_FILE_NAME));
+        String printed = terminalOutput.toString();
+
+        for (int i = 0; i < 100; ++i) {
+            assertTrue(logs.contains("User: filip@mail.com,123 requested <search " + i + ">"),
+                "A blocked Message must not be lost");
+        }
+        assertTrue(logs.indexOf("<search 98>") < logs.indexOf("<search 99>"), "The Messages must stay in Order");
+        assertTrue(logs.contains("Request <play> by User: filip@mail.com,123 triggered an Exception:"),
+            "The Error must be written to the File");
+        assertTrue(printed.contains("Exception Message: Failure"), "The Error must be printed to the Terminal");
+    }
+
+    @Test
+    void testBlockedMessageIsDroppedWhenTheLoggerIsClosed() throws InterruptedException {
+        SelectionKey key = Mockito.mock(SelectionKey.class);
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PrintStream stuckTerminal = new PrintStream(new OutputStream() {
+            @Override
+            public void write(int b) {
+                writing.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+
+        SpotifyLogger logger = new SpotifyLogger(LOG_FILE_NAME, null, 2, OverflowPolicy.BLOCK, stuckTerminal);
+        logger.logClientOutput("first", key);
+        assertTrue(writing.await(5, TimeUnit.SECONDS), "The Writer Thread must be writing the first Message");
+        logger.logClientOutput("second", key);
+        logger.logClientOutput("third", key);
+
+        Thread producer = new Thread(() -> logger.logClientOutput("blocked", key));
+        producer.start();
+        Thread closer = new Thread(logger::close);
+        closer.start();
+
+        producer.join(2000);
+        boolean isProducerBlocked = producer.isAlive();
+        release.countDown();
+        closer.join();
+        producer.join();
+
+        assertFalse(isProducerBlocked, "A Producer waiting for Space must stop once the Logger is closed");
+    }
+
+    @Test
+    void testDropPolicyDropsMessagesWhenTheBufferIsFull() throws IOException {
+        SelectionKey key = Mockito.mock(SelectionKey.class);
+
+        SpotifyLogger logger = new SpotifyLogger(LOG_FILE_NAME, null, 1, OverflowPolicy.DROP, terminal);
+        int logged = 10_000;
+        for (int i = 0; i < logged; ++i) {
+            logger.logClientOutput("output", key);
+        }
+        logger.close();
+
+        String logs = Files.readString(Path.of(LOG_FILE_NAME));
+        long written = logs.lines().filter(line -> line.startsWith("Sending <output>")).count();
+        long reported = logs.lines().filter(line -> line.endsWith("Log Messages were dropped because the Logger " +
+                                                                   "could not keep up"))
+            .mapToLong(line -> Long.parseLong(line.substring(0, line.indexOf(' ')))).sum();
+
+        assertEquals(logged, written + reported, "Every Message must be either written or reported as dropped");
+    }
+}
@@ -0,0 +1,150 @@
+package spotify.logger.request;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import spotify.server.command.CommandType;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RequestLogTest {
+    private static final Path LOG_FOLDER = Path.of("testRequestLog");
+    private static final Path LOG_FILE = LOG_FOLDER.resolve("requests.log");
+
+    private final RequestLogRecord successful =
+        new RequestLogRecord(1_000, 7, "user@mail.com", CommandType.SEARCH_COMMAND, 412, 1830, RequestOutcome.OK,
+            null, null);
+    private final RequestLogRecord failed =
+        new RequestLogRecord(2_000, 7, null, null, 95, 47, RequestOutcome.REJECTED, "dance", "Invalid Command");
+
+    @BeforeEach
+    void setUp() throws IOException {
+        deleteLogFolder();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        deleteLogFolder();
+    }
+
+    @Test
+    void testDecodeReturnsTheAppendedRecords() throws IOException {
+        try (RequestLog requestLog = new RequestLog(LOG_FILE, 1024, 2)) {
+            requestLog.append(successful);
+            requestLog.append(failed);
+        }
+
+        List<RequestLogRecord> records = new ArrayList<>();
+        assertTrue(RequestLogDecoder.decode(LOG_FILE, records::add), "The Log must be complete");
+
+        assertEquals(List.of(successful, failed), records, "The decoded Records must match the appended ones");
+        assertTrue(Files.size(LOG_FILE) < RequestLog.HEADER_SIZE + 100,
+            "A successful Request must take only a few dozen Bytes");
+    }
+
+    @Test
+    void testSuccessfulRequestsDoNotKeepThePayload() throws IOException {
+        RequestLogRecord withPayload = new RequestLogRecord(1_000, 7, "user@mail.com", CommandType.PLAY_COMMAND, 1,
+            1, RequestOutcome.OK, "play Song", "ignored");
+
+        try (RequestLog requestLog = new RequestLog(LOG_FILE, 1024, 2)) {
+            requestLog.append(withPayload);
+        }
+
+        List<RequestLogRecord> records = new ArrayList<>();
+        RequestLogDecoder.decode(LOG_FILE, records::add);
+
+        assertNull(records.get(0).request(), "The Request of a successful Record must not be saved");
+        assertNull(records.get(0).error(), "The Error of a successful Record must not be saved");
+    }
+
+    @Test
+    void testALongUserIsCutSoTheRecordCanBeWritten() throws IOException {
+        String email = "\uD83C\uDFB5".repeat(11_000) + "@mail.com";
+        RequestLogRecord withLongUser = new RequestLogRecord(1_000, 7, email, CommandType.SEARCH_COMMAND, 1, 1,
+            RequestOutcome.OK, null, null);
+
+        try (RequestLog requestLog = new RequestLog(LOG_FILE, 1024 * 1024, 2)) {
+            requestLog.append(withLongUser);
+            requestLog.append(successful);
+        }
+
+        List<RequestLogRecord> records = new ArrayList<>();
+        assertTrue(RequestLogDecoder.decode(LOG_FILE, records::add), "The Log must be complete");
+
+        assertEquals(2, records.size(), "Both Records must be written");
+        assertEquals(email.substring(0, 1024), records.get(0).user(), "The User must be cut");
+        assertEquals(successful, records.get(1), "The Records after a long User must be written");
+    }
+
+    @Test
+    void testFullFilesAreRotatedAndOnlyTheNewestAreKept() throws IOException {
+        try (RequestLog requestLog = new RequestLog(LOG_FILE, 100, 3)) {
+            for (int i = 0; i < 20; ++i) {
+                requestLog.append(successful);
+            }
+
+            assertTrue(Files.exists(requestLog.getFile(1)), "A full File must be rotated");
+            assertTrue(Files.exists(requestLog.getFile(2)), "A full File must be rotated");
+            assertFalse(Files.exists(requestLog.getFile(3)), "Only the newest Files must be kept");
+        }
+
+        try (Stream<Path> files = Files.list(LOG_FOLDER)) {
+            for (Path file : files.toList()) {
+                assertTrue(RequestLogDecoder.decode(file, record -> assertEquals(successful, record)),
+                    "Every rotated File must be complete");
+            }
+        }
+    }
+
+    @Test
+    void testAnIncompleteLastRecordIsReported() throws IOException {
+        try (RequestLog requestLog = new RequestLog(LOG_FILE, 1024, 2)) {
+            requestLog.append(successful);
+            requestLog.append(failed);
+        }
+
+        byte[] bytes = Files.readAllBytes(LOG_FILE);
+        Files.write(LOG_FILE, Arrays.copyOf(bytes, bytes.length - 3));
+
+        List<RequestLogRecord> records = new ArrayList<>();
+        assertFalse(RequestLogDecoder.decode(LOG_FILE, records::add), "The cut Record must be reported");
+        assertEquals(List.of(successful), records, "The complete Records must still be decoded");
+
+        try (RequestLog requestLog = new RequestLog(LOG_FILE, 1024, 2)) {
+            assertTrue(Files.exists(requestLog.getFile(1)), "The File of the previous Run must be rotated");
+        }
+    }
+
+    @Test
+    void testFormatDescribesTheRecord() {
+        assertEquals("1970-01-01T00:00:01Z #7 user@mail.com search OK 412us 1830B",
+            RequestLogDecoder.format(successful), "A successful Record must be formatted without Payload");
+        assertEquals("1970-01-01T00:00:02Z #7 - unknown REJECTED 95us 47B request <dance> error <Invalid Command>",
+            RequestLogDecoder.format(failed), "A failed Record must be formatted with its Payload");
+    }
+
+    private static void deleteLogFolder() throws IOException {
+        if (!Files.exists(LOG_FOLDER)) {
+            return;
+        }
+
+        try (Stream<Path> files = Files.walk(LOG_FOLDER)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package spotify.server.command.executor;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import spotify.server.command.CommandType;
+import spotify.server.command.thread.safe.SearchCommand;
+import spotify.server.command.thread.unsafe.RegisterCommand;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CommandExecutorTest {
+    private static final int COMMANDS = 8;
+
+    private CommandExecutor commandExecutor;
+
+    @AfterEach
+    void tearDown() {
+        commandExecutor.close();
+    }
+
+    @Test
+    void testExecuteAsyncWithoutWorkersExecutesInTheCallingThread() throws Exception {
+        commandExecutor = new CommandExecutor();
+        SearchCommand cmd = mock(SearchCommand.class);
+        when(cmd.call()).thenAnswer(invocation -> Thread.currentThread().getName());
+
+        CompletableFuture<String> output = commandExecutor.executeAsync(cmd);
+
+        assertTrue(output.isDone(), "The Command must be executed before executeAsync returns");
+        assertEquals(Thread.currentThread().getName(), output.get(), "The Command was not executed in the calling Thread");
+        assertEquals("Invalid Command", commandExecutor.executeAsync(null).get(),
+            "null must be treated as an Invalid Command");
+    }
+
+    @Test
+    void testExecuteAsyncRunsThreadSafeCommandsConcurrently() throws Exception {
+        commandExecutor = new CommandExecutor(Executors.newFixedThreadPool(2));
+        CountDownLatch bothStarted = new CountDownLatch(2);
+
+        SearchCommand cmd = mock(SearchCommand.class);
+        when(cmd.call()).thenAnswer(invocation -> {
+            bothStarted.countDown();
+            return String.valueOf(bothStarted.await(5, TimeUnit.SECONDS));
+        });
+
+        CompletableFuture<String> first = commandExecutor.executeAsync(cmd);
+        CompletableFuture<String> second = commandExecutor.executeAsync(cmd);
+
+        assertEquals("true", first.get(), "Thread Safe Commands must run concurrently");
+        assertEquals("true", second.get(), "Thread Safe Commands must run concurrently");
+    }
+
+    @Test
+    void testExecuteAsyncSerializesThreadUnsafeCommands() throws Exception {
+        commandExecutor = new CommandExecutor(Executors.newFixedThreadPool(COMMANDS));
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        RegisterCommand cmd = mock(RegisterCommand.class);
+        when(cmd.call()).thenAnswer(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(5);
+            running.decrementAndGet();
+            return "ok";
+        });
+
+        List<CompletableFuture<String>> outputs = new ArrayList<>();
+        for (int i = 0; i < COMMANDS; ++i) {
+            outputs.add(commandExecutor.executeAsync(cmd));
+        }
+        CompletableFuture.allOf(outputs.toArray(CompletableFuture[]::new)).get();
+
+        assertEquals(1, maxRunning.get(), "Thread Unsafe Commands must not run concurrently");
+    }
+
+    @Test
+    void testExecuteAsyncRejectsCommandsWhenThePoolIsFull() throws Exception {
+        commandExecutor = CommandExecutor.withWorkerPool(1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        SearchCommand cmd = mock(SearchCommand.class);
+        when(cmd.call()).thenAnswer(invocation -> String.valueOf(release.await(5, TimeUnit.SECONDS)));
+
+        commandExecutor.executeAsync(cmd);
+        commandExecutor.executeAsync(cmd);
+        String rejected = commandExecutor.executeAsync(cmd).get();
+        release.countDown();
+
+        assertEquals("The Server is busy, try again later", rejected,
+            "A Command that does not fit in the Pool must be rejected");
+    }
+
+    @Test
+    void testExecuteAsyncRejectsThreadUnsafeCommandsWhenTheSerialQueueIsFull() throws Exception {
+        commandExecutor = CommandExecutor.withWorkerPool(1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        RegisterCommand cmd = mock(RegisterCommand.class);
+        when(cmd.call()).thenAnswer(invocation -> String.valueOf(release.await(5, TimeUnit.SECONDS)));
+
+        commandExecutor.executeAsync(cmd);
+        commandExecutor.executeAsync(cmd);
+        String rejected = commandExecutor.executeAsync(cmd).get();
+        release.countDown();
+
+        assertEquals("The Server is busy, try again later", rejected,
+            "A Thread Unsafe Command that does not fit in the Queue of the single Thread must be rejected");
+    }
+
+    @Test
+    void testExecuteAsyncCompletesExceptionallyWhenTheCommandThrows() throws Exception {
+        commandExecutor = new CommandExecutor(Executors.newSingleThreadExecutor());
+
+        SearchCommand cmd = mock(SearchCommand.class);
+        when(cmd.call()).thenThrow(new IllegalStateException("failed"));
+
+        CompletableFuture<String> output = commandExecutor.executeAsync(cmd);
+
+        Throwable exception = output.handle((result, e) -> e).get();
+        assertTrue(exception instanceof IllegalStateException, "The Exception of the Command was not propagated");
+    }
+
+    @Test
+    void testExecutionListenerReceivesTheTypeOfEveryCommand() throws Exception {
+        commandExecutor = CommandExecutor.withWorkerPool(1, COMMANDS);
+        CommandExecutionListener listener = mock(CommandExecutionListener.class);
+        commandExecutor.setExecutionListener(listener);
+
+        SearchCommand cmd = mock(SearchCommand.class);
+        when(cmd.getType()).thenReturn(CommandType.SEARCH_COMMAND);
+        when(cmd.call()).thenReturn("found");
+
+        commandExecutor.executeAsync(cmd).get();
+
+        verify(listener).onCommandExecuted(eq(CommandType.SEARCH_COMMAND), anyLong(), anyLong());
+    }
+}
@@ -17,11 +17,16 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class CommandFactoryTest {
     private static final String PLAY_COMMAND = "play bnr-avantim";
+    private static final String PLAY_COMMAND_WITH_SEEK = "play bnr - avantim @ 12.5";
+    private static final String PLAY_COMMAND_WITH_AT_IN_NAME = "play bnr - live @home";
+    private static final String PLAY_COMMAND_WITH_AT_IN_NAME_AND_SEEK = "play bnr - live @home @ 3";
+    private static final String PLAY_COMMAND_WITH_TOO_LONG_SEEK = "play bnr - avantim @150000000000000";
     private static final String SEARCH_COMMAND_NOT_ALL = "search van";
     private static final String SEARCH_COMMAND_ALL = "search all";
     private static final String SHOW_PLAYLIST_COMMAND_NO_OWNER = "show-playlist myPlaylist";
     private static final String SHOW_PLAYLIST_COMMAND_WITH_OWNER = "show-playlist myPlaylist filip";
     private static final String TERMINATE_COMMAND = "terminate";
+    private static final String STATS_COMMAND = "stats";
     private static final String TOP_SONGS_COMMAND_NOT_ALL = "top 10";
     private static final String TOP_SONGS_COMMAND_ALL = "top all";
 
@@ -46,6 +51,37 @@ public class CommandFactoryTest {
         assertEquals(user, actualPlayCommand.getUser(), "User not parsed correctly");
     }
 
+    @Test
+    void testCreateRecognizesPlayCommandWithSeek() {
+        PlayCommand actual = (PlayCommand) CommandFactory.create(PLAY_COMMAND_WITH_SEEK, user, spotifyServer);
+
+        assertEquals("bnr - avantim", actual.getFullSongName(), "Full Song Name not parsed correctly");
+        assertEquals(12.5, actual.getSeconds(), "Seconds not parsed correctly");
+    }
+
+    @Test
+    void testCreateKeepsTheSeekPrefixInTheSongNameWhenNoNumberFollows() {
+        PlayCommand actual = (PlayCommand) CommandFactory.create(PLAY_COMMAND_WITH_AT_IN_NAME, user, spotifyServer);
+
+        assertEquals("bnr - live @home", actual.getFullSongName(), "A Song Name with '@' must be kept whole");
+        assertEquals(0, actual.getSeconds(), "The Song must start from its Beginning");
+    }
+
+    @Test
+    void testCreateRecognizesPlayCommandWithSeekForSongNameWithSeekPrefix() {
+        PlayCommand actual =
+            (PlayCommand) CommandFactory.create(PLAY_COMMAND_WITH_AT_IN_NAME_AND_SEEK, user, spotifyServer);
+
+        assertEquals("bnr - live @home", actual.getFullSongName(), "Full Song Name not parsed correctly");
+        assertEquals(3, actual.getSeconds(), "Seconds not parsed correctly");
+    }
+
+    @Test
+    void testCreateReturnsNullForPlayCommandWithTooLongSeek() {
+        assertNull(CommandFactory.create(PLAY_COMMAND_WITH_TOO_LONG_SEEK, user, spotifyServer),
+            "Null expected when the Seconds are after the End of any Song");
+    }
+
     @Test
     void testCreateRecognizesSearchCommandNotAll() {
         Command actual = CommandFactory.create(SEARCH_COMMAND_NOT_ALL, user, spotifyServer);
@@ -97,6 +133,13 @@ public class CommandFactoryTest {
         assertEquals(CommandType.TERMINATE_COMMAND, actual.getType(), "Terminate Command not parsed correctly");
     }
 
+    @Test
+    void testCreateRecognizesStatsCommand() {
+        Command actual = CommandFactory.create(STATS_COMMAND, user, spotifyServer);
+
+        assertEquals(CommandType.STATS_COMMAND, actual.getType(), "Stats Command not parsed correctly");
+    }
+
     @Test
     void testCreateRecognizesTopSongsCommandNotAll() {
         Command actual = CommandFactory.create(TOP_SONGS_COMMAND_NOT_ALL, user, spotifyServer);
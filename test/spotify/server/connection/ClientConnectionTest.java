@@ -0,0 +1,123 @@
+package spotify.server.connection;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ClientConnectionTest {
+    private ServerSocketChannel serverSocketChannel;
+    private SocketChannel clientChannel;
+    private SocketChannel serverChannel;
+
+    private ClientConnection connection;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        serverSocketChannel = ServerSocketChannel.open().bind(new InetSocketAddress("localhost", 0));
+        clientChannel = SocketChannel.open(serverSocketChannel.getLocalAddress());
+        serverChannel = serverSocketChannel.accept();
+        serverChannel.configureBlocking(false);
+
+        connection = new ClientConnection(new ByteBufferPool(16, 4));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        clientChannel.close();
+        serverChannel.close();
+        serverSocketChannel.close();
+    }
+
+    @Test
+    void testNextMessageWaitsForTheWholeMessage() throws IOException {
+        byte[] message = "search all".getBytes(StandardCharsets.UTF_8);
+        ByteBuffer frame = ByteBuffer.allocate(MessageFrame.HEADER_SIZE + message.length).putInt(message.length)
+            .put(message).flip();
+
+        clientChannel.write(frame.slice(0, 6));
+        connection.read(serverChannel);
+        assertNull(connection.nextMessage(), "A partially received Message must not be returned");
+
+        clientChannel.write(frame.position(6));
+        connection.read(serverChannel);
+        assertEquals("search all", connection.nextMessage(), "The Message was not assembled correctly");
+    }
+
+    @Test
+    void testNextMessageSplitsSeveralMessagesFromOneRead() throws IOException {
+        MessageFrame.write("login filip 123", clientChannel);
+        MessageFrame.write("top 10", clientChannel);
+
+        connection.read(serverChannel);
+
+        assertEquals("login filip 123", connection.nextMessage(), "The first Message was not returned");
+        assertEquals("top 10", connection.nextMessage(), "The second Message was not returned");
+        assertNull(connection.nextMessage(), "There must be no more Messages");
+    }
+
+    @Test
+    void testNextMessageAcceptsMessagesLongerThanTheInitialBuffer() throws IOException {
+        String message = "search " + "a".repeat(5000);
+        CompletableFuture<Void> written = CompletableFuture.runAsync(() -> {
+            try {
+                MessageFrame.write(message, clientChannel);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+
+        String received = null;
+        while (received == null) {
+            connection.read(serverChannel);
+            received = connection.nextMessage();
+        }
+        written.join();
+
+        assertEquals(message, received, "A long Message was not assembled correctly");
+    }
+
+    @Test
+    void testNextMessageThrowsForTooLongRequests() throws IOException {
+        clientChannel.write(ByteBuffer.allocate(MessageFrame.HEADER_SIZE).putInt(MessageFrame.MAX_REQUEST_SIZE + 1)
+            .flip());
+        connection.read(serverChannel);
+
+        assertThrows(IOException.class, () -> connection.nextMessage(),
+            "A Request longer than the Limit must be rejected");
+    }
+
+    @Test
+    void testEnqueuedMessagesAreWrittenInPooledParts() throws IOException {
+        String response = "Song - Singer -> Streams: 0".repeat(100);
+        connection.enqueue(response);
+
+        CompletableFuture<String> received = CompletableFuture.supplyAsync(() -> {
+            try {
+                return MessageFrame.read(clientChannel, ByteBuffer.allocate(32));
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+
+        while (!connection.write(serverChannel)) {
+            Thread.onSpinWait();
+        }
+
+        assertEquals(response, received.join(), "The Response was not written correctly");
+        assertEquals(SelectionKey.OP_READ, connection.getInterestOps(),
+            "The Connection must not wait for Writes once everything is written");
+    }
+}
@@ -0,0 +1,56 @@
+package spotify.server.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LatencyHistogramTest {
+    @Test
+    void testEveryValueIsInsideItsBucket() {
+        for (long value = 0; value < 1_000_000; value += 7) {
+            int bucket = LatencyHistogram.getBucket(value);
+
+            assertTrue(value <= LatencyHistogram.getHighestValue(bucket),
+                "The Value " + value + " must not be above its Bucket");
+            assertTrue(bucket == 0 || value > LatencyHistogram.getHighestValue(bucket - 1),
+                "The Value " + value + " must not be below its Bucket");
+        }
+    }
+
+    @Test
+    void testBucketsAreWithinThePrecision() {
+        for (long value = 1_000; value < 10_000_000_000L; value = value * 3 / 2) {
+            long highest = LatencyHistogram.getHighestValue(LatencyHistogram.getBucket(value));
+
+            assertTrue(highest - value <= value / 32, "The Bucket of " + value + " is not precise enough");
+        }
+    }
+
+    @Test
+    void testGetValueAtPercentileReturnsTheRecordedValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; ++i) {
+            histogram.record(i * 1_000_000L);
+        }
+
+        assertEquals(100, histogram.getCount(), "Every Value must be counted");
+        assertEquals(100_000_000L, histogram.getMax(), "The Maximum must be exact");
+        assertWithinPrecision(50_000_000L, histogram.getValueAtPercentile(50));
+        assertWithinPrecision(99_000_000L, histogram.getValueAtPercentile(99));
+        assertEquals(100_000_000L, histogram.getValueAtPercentile(99.9), "The top Percentile must be the Maximum");
+    }
+
+    @Test
+    void testEmptyHistogramReturnsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(0, histogram.getCount(), "Nothing has been recorded");
+        assertEquals(0, histogram.getValueAtPercentile(99), "An empty Histogram must return 0");
+    }
+
+    private static void assertWithinPrecision(long expected, long actual) {
+        assertTrue(actual >= expected && actual - expected <= expected / 32,
+            "Expected about " + expected + " but was " + actual);
+    }
+}
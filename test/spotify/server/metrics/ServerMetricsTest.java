@@ -0,0 +1,22 @@
+package spotify.server.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ServerMetricsTest {
+    @Test
+    void testReportDoesNotResetTheStreamingRate() {
+        StreamingMetrics streamingMetrics = new StreamingMetrics();
+        ServerMetrics metrics = new ServerMetrics(streamingMetrics);
+
+        streamingMetrics.onWrite(1000, 1000, System.nanoTime() - 1_000_000_000L);
+        String first = metrics.report();
+        String second = metrics.report();
+
+        assertTrue(first.contains("Sent: 1000 B (100 B/s over the last 10s)"),
+            "The Rate must be the Bytes sent in the last 10 Seconds");
+        assertTrue(second.contains("Sent: 1000 B (100 B/s over the last 10s)"),
+            "A Report must not change the Rate another Caller sees");
+    }
+}
@@ -0,0 +1,48 @@
+package spotify.server.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class StreamingMetricsTest {
+    @Test
+    void testOnWriteCountsStalledWrites() {
+        StreamingMetrics metrics = new StreamingMetrics();
+
+        metrics.onWrite(100, 100, 0);
+        metrics.onWrite(100, 40, 0);
+        metrics.onWrite(100, 0, 0);
+        metrics.onWrite(100, 0, 0);
+
+        assertEquals(140, metrics.getBytesSent(), "Every sent Byte must be counted");
+        assertEquals(1, metrics.getPartialWrites(), "A Write that sent a Part of the Bytes is a Partial Write");
+        assertEquals(2, metrics.getZeroWrites(), "A Write that sent nothing is a Zero Write");
+    }
+
+    @Test
+    void testActiveStreamsNeedTheirByteRate() {
+        StreamingMetrics metrics = new StreamingMetrics();
+
+        metrics.onStreamStarted(96_000);
+        metrics.onStreamStarted(176_400);
+        metrics.onStreamFinished(96_000);
+
+        assertEquals(1, metrics.getActiveStreams(), "Only the Stream that has not finished is active");
+        assertEquals(176_400, metrics.getRequiredBytesPerSecond(), "Only the active Stream needs Bandwidth");
+    }
+
+    @Test
+    void testRecentBytesPerSecondCountsOnlyTheLastWholeSeconds() {
+        StreamingMetrics metrics = new StreamingMetrics();
+        long second = 1_000_000_000L;
+
+        metrics.onWrite(1000, 1000, second / 2);
+        metrics.onWrite(2000, 2000, second + second / 2);
+        metrics.onWrite(5000, 5000, 2 * second);
+
+        assertEquals(300, metrics.getRecentBytesPerSecond(2 * second + second / 2),
+            "The Bytes of the current Second must not be counted yet");
+        assertEquals(800, metrics.getRecentBytesPerSecond(3 * second), "Every whole Second in the Window counts");
+        assertEquals(500, metrics.getRecentBytesPerSecond(12 * second), "Seconds outside the Window must not count");
+    }
+}